@@ -0,0 +1,110 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets at most {@code permits} threads hold a connection and at most {@code maxWaiting} queue for one.
+ * Virtual threads are cheap enough that thousands can ask the pool at once; this turns that
+ * stampede into a short fair queue and fast failures instead of everyone timing out inside HikariCP.
+ * The permit is returned when the connection is closed (handed back to the pool).
+ */
+public class AdmissionControlledDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final Duration acquireTimeout;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public AdmissionControlledDataSource(DataSource target, int permits, int maxWaiting, Duration acquireTimeout) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return admitted(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return admitted(() -> super.getConnection(username, password));
+    }
+
+    public int available() {
+        return permits.availablePermits();
+    }
+
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.getQueueLength() >= maxWaiting) {
+            rejected.incrementAndGet();
+            throw new SQLTransientConnectionException("Too many requests waiting for a database connection");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.incrementAndGet();
+                throw new SQLTransientConnectionException(
+                        "No database connection available within " + acquireTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection", e);
+        }
+    }
+
+    private Connection admitted(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,65 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dedicated, bounded executors for background work so it never borrows Tomcat request threads.
+ * In virtual-thread mode the workers are virtual threads; pool size and queue still bound them.
+ */
+@Configuration
+public class AsyncConfig {
+
+    private final boolean virtualThreads;
+
+    public AsyncConfig(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    @Bean
+    public ThreadPoolTaskExecutor mailExecutor(MailOutboxProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.workers());
+        executor.setMaxPoolSize(properties.workers());
+        executor.setQueueCapacity(properties.workers());
+        executor.setThreadNamePrefix("mail-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+
+    /**
+     * Report exports; small and bounded so reporting never takes more than a few DB connections
+     * away from bookings. A full queue rejects new jobs instead of growing.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor reportExecutor(ReportJobProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.workers());
+        executor.setMaxPoolSize(properties.workers());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setThreadNamePrefix("report-");
+        executor.setVirtualThreads(virtualThreads);
+        return executor;
+    }
+
+    /**
+     * Ticket printing; each busy printer occupies one worker while it drains its own queue.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor printExecutor(PrintSpoolerProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.workers());
+        executor.setMaxPoolSize(properties.workers());
+        executor.setQueueCapacity(properties.queueCapacity());
+        executor.setThreadNamePrefix("print-");
+        executor.setVirtualThreads(virtualThreads);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        return executor;
+    }
+}
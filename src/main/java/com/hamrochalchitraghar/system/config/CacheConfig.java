@@ -0,0 +1,45 @@
+package com.hamrochalchitraghar.system.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Bounded in-memory caches (Caffeine, W-TinyLFU eviction) with hit/miss statistics.
+ * Entries are evicted explicitly when the underlying data changes; the TTL only
+ * limits staleness for changes made outside this application.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SCHEDULE = "schedule";
+    public static final String NOW_SHOWING = "nowShowing";
+    public static final String MOVIES = "movies";
+    public static final String MOVIE_SHOWS = "movieShows";
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // One entry per day shown on the box-office screen
+        cacheManager.registerCustomCache(SCHEDULE, cache(31, Duration.ofMinutes(10)));
+        // Single entry: the whole now-showing list
+        cacheManager.registerCustomCache(NOW_SHOWING, cache(1, Duration.ofMinutes(10)));
+        cacheManager.registerCustomCache(MOVIES, cache(500, Duration.ofMinutes(30)));
+        cacheManager.registerCustomCache(MOVIE_SHOWS, cache(500, Duration.ofMinutes(10)));
+        return cacheManager;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> cache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Gate in front of the connection pool, active in virtual-thread mode.
+ *
+ * @param permits        connections handed out at once; 0 uses the HikariCP maximum pool size
+ * @param maxWaiting     threads allowed to wait for a permit; further ones fail immediately
+ * @param acquireTimeout how long a thread waits for a permit before the request fails
+ */
+@ConfigurationProperties(prefix = "app.datasource.admission")
+public record DataSourceAdmissionProperties(
+        @DefaultValue("0") int permits,
+        @DefaultValue("200") int maxWaiting,
+        @DefaultValue("2s") Duration acquireTimeout) {
+}
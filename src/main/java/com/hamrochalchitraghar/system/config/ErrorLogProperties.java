@@ -0,0 +1,24 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the asynchronous error log writer and its retention.
+ *
+ * @param capacity       errors buffered in memory before new ones are dropped (rounded up to a power of two)
+ * @param batchSize      errors written per JDBC batch
+ * @param dedupeWindow   repeats of the same source and message within this window only bump the first row's count
+ * @param retention      age after which rows are purged; hourly counts per source are kept in the rollups
+ * @param purgeBatchSize rows deleted per purge transaction
+ */
+@ConfigurationProperties(prefix = "app.errors")
+public record ErrorLogProperties(
+        @DefaultValue("4096") int capacity,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("60s") Duration dedupeWindow,
+        @DefaultValue("30d") Duration retention,
+        @DefaultValue("1000") int purgeBatchSize) {
+}
@@ -0,0 +1,18 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Booking request keys that make a repeated booking form submission return the first booking.
+ *
+ * @param ttl       how long a key is remembered, in memory and in booking_request_keys
+ * @param cacheSize keys kept in memory; older ones are still found in the table
+ */
+@ConfigurationProperties(prefix = "app.booking.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int cacheSize) {
+}
@@ -0,0 +1,26 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the booking confirmation mail outbox.
+ *
+ * @param workers        maximum concurrent dispatch workers
+ * @param batchSize      messages sent over one SMTP connection
+ * @param maxAttempts    attempts before a message is marked FAILED
+ * @param initialBackoff delay before the first retry; doubles on every further attempt
+ * @param maxBackoff     upper bound for the retry delay
+ * @param lease          how long a claimed batch stays invisible to other workers
+ */
+@ConfigurationProperties(prefix = "app.mail.outbox")
+public record MailOutboxProperties(
+        @DefaultValue("2") int workers,
+        @DefaultValue("50") int batchSize,
+        @DefaultValue("6") int maxAttempts,
+        @DefaultValue("30s") Duration initialBackoff,
+        @DefaultValue("30m") Duration maxBackoff,
+        @DefaultValue("5m") Duration lease) {
+}
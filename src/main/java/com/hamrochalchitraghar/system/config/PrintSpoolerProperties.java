@@ -0,0 +1,30 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Box-office ticket printing.
+ *
+ * @param printer       printer name; unset uses the system default printer
+ * @param fakeDir       when set, tickets are written as files to this directory instead of a printer
+ * @param lookupTtl     how long a printer lookup is reused; a failed print forgets it straight away
+ * @param workers       printers served at the same time (one worker per printer queue)
+ * @param queueCapacity jobs waiting per printer before new ones are refused
+ * @param maxAttempts   attempts before a job is marked FAILED
+ * @param retryBackoff  delay before the first retry; doubles on every further attempt
+ * @param retention     how long finished jobs stay visible
+ */
+@ConfigurationProperties(prefix = "app.print")
+public record PrintSpoolerProperties(String printer,
+                                     Path fakeDir,
+                                     @DefaultValue("5m") Duration lookupTtl,
+                                     @DefaultValue("2") int workers,
+                                     @DefaultValue("100") int queueCapacity,
+                                     @DefaultValue("3") int maxAttempts,
+                                     @DefaultValue("2s") Duration retryBackoff,
+                                     @DefaultValue("24h") Duration retention) {
+}
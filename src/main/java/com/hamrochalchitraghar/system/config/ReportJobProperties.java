@@ -0,0 +1,22 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Background report generation.
+ *
+ * @param workers       reports generated at the same time; each holds one DB connection while running
+ * @param queueCapacity reports waiting for a worker before new submissions are refused
+ * @param storageDir    where finished report files are kept
+ * @param retention     how long a finished report stays downloadable (and reusable)
+ */
+@ConfigurationProperties(prefix = "app.reports.jobs")
+public record ReportJobProperties(@DefaultValue("1") int workers,
+                                  @DefaultValue("4") int queueCapacity,
+                                  @DefaultValue("reports") Path storageDir,
+                                  @DefaultValue("24h") Duration retention) {
+}
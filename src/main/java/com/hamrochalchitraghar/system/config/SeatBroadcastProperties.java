@@ -0,0 +1,15 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param coalesceWindow seat changes of one show within this window go out as a single frame
+ * @param retainedFrames frames kept per show for clients that resync after a gap
+ */
+@ConfigurationProperties(prefix = "app.seats.broadcast")
+public record SeatBroadcastProperties(@DefaultValue("100ms") Duration coalesceWindow,
+                                      @DefaultValue("256") int retainedFrames) {
+}
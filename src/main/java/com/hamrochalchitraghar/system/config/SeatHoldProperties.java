@@ -0,0 +1,15 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Seat hold settings shared by booking, the seat pages and SeatUnlockScheduler.
+ *
+ * @param ttl how long a hold lives after it was placed or last renewed
+ */
+@ConfigurationProperties(prefix = "app.booking.hold")
+public record SeatHoldProperties(@DefaultValue("5m") Duration ttl) {
+}
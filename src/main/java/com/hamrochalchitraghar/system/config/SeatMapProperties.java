@@ -0,0 +1,14 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param idleTimeout a show's in-memory seat map is dropped after this long without access
+ *                    and reloaded from the database on the next one
+ */
+@ConfigurationProperties(prefix = "app.seats.map")
+public record SeatMapProperties(@DefaultValue("30m") Duration idleTimeout) {
+}
@@ -0,0 +1,15 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Limits for seat updates that clients send over STOMP to /app/seat-update.
+ *
+ * @param permitsPerSecond sustained updates accepted per WebSocket session
+ * @param burst            updates a session may send at once before the rate applies
+ */
+@ConfigurationProperties(prefix = "app.seats.client-updates")
+public record SeatUpdateProperties(@DefaultValue("5") double permitsPerSecond,
+                                   @DefaultValue("10") int burst) {
+}
@@ -0,0 +1,45 @@
+package com.hamrochalchitraghar.system.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Extras for virtual-thread mode ({@code spring.threads.virtual.enabled=true}). Spring Boot itself
+ * moves Tomcat and {@code @Scheduled} onto virtual threads; the bounded background executors
+ * follow in {@link AsyncConfig}, and database access goes through an admission gate.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    /**
+     * Static and with a lazy properties lookup, so registering it doesn't pull beans in early.
+     */
+    @Bean
+    public static BeanPostProcessor dataSourceAdmission(ObjectProvider<DataSourceAdmissionProperties> propertiesProvider) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof AdmissionControlledDataSource) {
+                    return bean;
+                }
+                DataSourceAdmissionProperties properties = propertiesProvider.getObject();
+                int permits = properties.permits();
+                if (permits <= 0) {
+                    permits = (bean instanceof HikariDataSource hikari) ? hikari.getMaximumPoolSize() : 10;
+                }
+                System.out.println("🚦 DB admission gate on '" + beanName + "': " + permits + " permits, "
+                        + properties.maxWaiting() + " waiting");
+                return new AdmissionControlledDataSource(dataSource, permits, properties.maxWaiting(),
+                        properties.acquireTimeout());
+            }
+        };
+    }
+}
@@ -1,23 +1,87 @@
 package com.hamrochalchitraghar.system.config;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.*;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final WebSocketProperties properties;
+
+    private TaskScheduler heartbeatScheduler;
+
+    @Autowired
+    public void setHeartbeatScheduler(@Lazy TaskScheduler heartbeatScheduler) {
+        this.heartbeatScheduler = heartbeatScheduler;
+    }
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        long heartbeat = properties.heartbeat().toMillis();
+
+        if (properties.brokerMode() == WebSocketProperties.BrokerMode.RELAY) {
+            // External broker fans /topic frames out to the subscribers of every node
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic")
+                    .setRelayHost(properties.relayHost())
+                    .setRelayPort(properties.relayPort())
+                    .setClientLogin(properties.relayLogin())
+                    .setClientPasscode(properties.relayPasscode())
+                    .setSystemLogin(properties.relayLogin())
+                    .setSystemPasscode(properties.relayPasscode())
+                    .setSystemHeartbeatSendInterval(heartbeat)
+                    .setSystemHeartbeatReceiveInterval(heartbeat);
+            if (properties.relayVirtualHost() != null && !properties.relayVirtualHost().isBlank()) {
+                relay.setVirtualHost(properties.relayVirtualHost());
+            }
+            System.out.println("🔌 WebSocket broker relay: " + properties.relayHost() + ":" + properties.relayPort());
+            System.out.println("⚠️ Seat snapshots and holds are per node and not refreshed from other nodes while a show is in use.");
+        } else {
+            config.enableSimpleBroker("/topic")
+                    .setHeartbeatValue(new long[]{heartbeat, heartbeat})
+                    .setTaskScheduler(heartbeatScheduler);
+        }
         config.setApplicationDestinationPrefixes("/app");
     }
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         registry.addEndpoint("/ws")
-                .setAllowedOriginPatterns("*").
-                withSockJS();
+                .setAllowedOriginPatterns("*")
+                // Exposes the HTTP session id, which is the seat holder for REST and STOMP alike
+                .addInterceptors(new HttpSessionHandshakeInterceptor())
+                .withSockJS();
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(properties.inboundThreads())
+                .maxPoolSize(properties.inboundThreads())
+                .queueCapacity(properties.channelQueueCapacity());
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(properties.outboundThreads())
+                .maxPoolSize(properties.outboundThreads())
+                .queueCapacity(properties.channelQueueCapacity());
+    }
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        registration.setSendBufferSizeLimit((int) properties.sendBufferSizeLimit().toBytes())
+                .setSendTimeLimit((int) properties.sendTimeLimit().toMillis())
+                .setMessageSizeLimit((int) properties.messageSizeLimit().toBytes());
     }
 }
@@ -0,0 +1,49 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param brokerMode        SIMPLE keeps subscriptions in this JVM (single node); RELAY forwards
+ *                          /topic to an external STOMP broker so every node's subscribers get every frame.
+ *                          RELAY shares broadcasts only: the seat map behind snapshots, ?since= resyncs
+ *                          and hold claims stays per node and is not refreshed while the show is in
+ *                          use, so those miss other nodes' holds and bookings until the show goes idle
+ *                          (app.seats.map.idle-timeout) or starts, and holds are not exclusive across
+ *                          nodes. Bookings stay safe through the database re-check in bookSeats.
+ * @param relayHost         STOMP broker host (RELAY only)
+ * @param relayPort         STOMP broker port (RELAY only)
+ * @param relayLogin        login for client and system connections to the broker
+ * @param relayPasscode     passcode for client and system connections to the broker
+ * @param relayVirtualHost  virtual host sent in CONNECT frames, if the broker needs one
+ * @param heartbeat         heartbeat interval in both directions
+ * @param inboundThreads    threads handling frames coming from clients
+ * @param outboundThreads   threads writing frames to clients
+ * @param channelQueueCapacity queued messages per channel before callers are rejected
+ * @param sendBufferSizeLimit buffered outgoing data per session before a slow client is dropped
+ * @param sendTimeLimit     longest a single send to a client may take before it is dropped
+ * @param messageSizeLimit  largest incoming STOMP message
+ */
+@ConfigurationProperties(prefix = "app.websocket")
+public record WebSocketProperties(@DefaultValue("SIMPLE") BrokerMode brokerMode,
+                                  @DefaultValue("localhost") String relayHost,
+                                  @DefaultValue("61613") int relayPort,
+                                  @DefaultValue("guest") String relayLogin,
+                                  @DefaultValue("guest") String relayPasscode,
+                                  String relayVirtualHost,
+                                  @DefaultValue("10s") Duration heartbeat,
+                                  @DefaultValue("8") int inboundThreads,
+                                  @DefaultValue("8") int outboundThreads,
+                                  @DefaultValue("10000") int channelQueueCapacity,
+                                  @DefaultValue("512KB") DataSize sendBufferSizeLimit,
+                                  @DefaultValue("15s") Duration sendTimeLimit,
+                                  @DefaultValue("64KB") DataSize messageSizeLimit) {
+
+    public enum BrokerMode {
+        SIMPLE,
+        RELAY
+    }
+}
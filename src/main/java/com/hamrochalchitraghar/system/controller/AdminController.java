@@ -1,61 +1,75 @@
 package com.hamrochalchitraghar.system.controller;
 
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.BookingReportRow;
+import com.hamrochalchitraghar.system.dto.BookingTotals;
+import com.hamrochalchitraghar.system.dto.ErrorLogStats;
 import com.hamrochalchitraghar.system.model.*;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
 import com.hamrochalchitraghar.system.model.enums.Role;
 import com.hamrochalchitraghar.system.repository.*;
+import com.hamrochalchitraghar.system.service.BookingReportService;
+import com.hamrochalchitraghar.system.service.BookingStatsService;
+import com.hamrochalchitraghar.system.service.ErrorLogRollupService;
+import com.hamrochalchitraghar.system.service.ErrorLogService;
+import com.hamrochalchitraghar.system.service.OccupancyService;
+import jakarta.servlet.http.HttpServletResponse;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
-import java.io.ByteArrayOutputStream;
 import java.lang.management.ManagementFactory;
 import java.time.LocalDate;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/admin")
 public class AdminController {
 
+    private static final int REPORT_PAGE_SIZE = 50;
+    private static final int ERROR_PAGE_SIZE = 50;
+
     private final BookingRepository bookingRepository;
     private final MovieRepository movieRepository;
-    private final ShowRepository showRepository;
     private final CustomerRepository customerRepository;
     private final ErrorLogRepository errorLogRepository;
+    private final ErrorLogService errorLogService;
+    private final ErrorLogRollupService errorLogRollupService;
+    private final BookingStatsService bookingStatsService;
+    private final BookingReportService bookingReportService;
+    private final OccupancyService occupancyService;
+    private final CacheManager cacheManager;
 
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
         try {
-            long totalBookings = bookingRepository.count();
+            // Totals come from the incrementally maintained aggregates (cancelled bookings excluded)
+            BookingTotals totals = bookingStatsService.totals();
+            long totalBookings = totals.bookings();
             long totalMovies = movieRepository.count();
             long totalCustomers = customerRepository.count();
-            double totalRevenue = bookingRepository.findAll().stream()
-                    .mapToDouble(b -> b.getShow().getPrice())
-                    .sum();
-
-            // Bookings per Movie
-            Map<String, Long> movieBookings = bookingRepository.findAll().stream()
-                    .collect(Collectors.groupingBy(b -> b.getShow().getMovie().getTitle(), Collectors.counting()));
+            double totalRevenue = totals.revenue();
 
-            // Revenue per Movie
-            Map<String, Double> movieRevenue = bookingRepository.findAll().stream()
-                    .collect(Collectors.groupingBy(b -> b.getShow().getMovie().getTitle(),
-                            Collectors.summingDouble(b -> b.getShow().getPrice())));
+            // Bookings & Revenue per Movie
+            Map<String, BookingTotals> movieTotals = bookingStatsService.movieTotals();
+            Map<String, Long> movieBookings = new HashMap<>();
+            Map<String, Double> movieRevenue = new HashMap<>();
+            movieTotals.forEach((title, t) -> {
+                movieBookings.put(title, t.bookings());
+                movieRevenue.put(title, t.revenue());
+            });
 
             // Top 5 Movies
-            LinkedHashMap<String, Long> top5Movies = movieBookings.entrySet().stream()
-                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
-                    .limit(5)
-                    .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue,
-                            (e1, e2) -> e1, LinkedHashMap::new));
+            LinkedHashMap<String, Long> top5Movies = bookingStatsService.topMovies(5);
 
             model.addAttribute("totalBookings", totalBookings);
             model.addAttribute("totalMovies", totalMovies);
@@ -78,32 +92,20 @@ public class AdminController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) String movie,
-            @RequestParam(required = false) String status,
+            @RequestParam(required = false) BookingStatus status,
+            @RequestParam(required = false) Long before,
             Model model) {
 
-        List<Booking> bookings = bookingRepository.findAll();
-
-        if (startDate != null && endDate != null) {
-            bookings = bookings.stream()
-                    .filter(b -> !b.getBookingTime().toLocalDate().isBefore(startDate)
-                            && !b.getBookingTime().toLocalDate().isAfter(endDate))
-                    .collect(Collectors.toList());
-        }
-
-        if (movie != null && !movie.isBlank()) {
-            bookings = bookings.stream()
-                    .filter(b -> b.getShow().getMovie().getTitle().equalsIgnoreCase(movie))
-                    .collect(Collectors.toList());
-        }
-
-        if (status != null && !status.isBlank()) {
-            bookings = bookings.stream()
-                    .filter(b -> b.getStatus().name().equalsIgnoreCase(status))
-                    .collect(Collectors.toList());
-        }
+        // Filters run in SQL; one page (plus one row to detect a next page) is fetched
+        BookingReportFilter filter = new BookingReportFilter(startDate, endDate, movie, status);
+        List<BookingReportRow> bookings = bookingRepository.findReportPage(filter, before, REPORT_PAGE_SIZE + 1);
+        boolean hasMore = bookings.size() > REPORT_PAGE_SIZE;
+        if (hasMore) bookings = bookings.subList(0, REPORT_PAGE_SIZE);
 
         model.addAttribute("movies", movieRepository.findAll());
         model.addAttribute("bookings", bookings);
+        model.addAttribute("nextBefore", hasMore ? bookings.get(bookings.size() - 1).id() : null);
+        model.addAttribute("paged", before != null);
         model.addAttribute("startDate", startDate);
         model.addAttribute("endDate", endDate);
         model.addAttribute("selectedMovie", movie);
@@ -111,32 +113,19 @@ public class AdminController {
         return "admin/admin-reports";
     }
 
-    /** Export report as Excel */
+    /** Export report as Excel (streamed, honours the report filters) */
     @GetMapping("/reports/export/excel")
-    public ResponseEntity<byte[]> exportExcel() {
-        try (Workbook workbook = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
-            Sheet sheet = workbook.createSheet("Bookings");
-            Row header = sheet.createRow(0);
-            String[] cols = {"ID", "Movie", "Show Time", "Seats", "Price", "Status"};
-            for (int i = 0; i < cols.length; i++) header.createCell(i).setCellValue(cols[i]);
-
-            List<Booking> bookings = bookingRepository.findAll();
-            int rowIdx = 1;
-            for (Booking b : bookings) {
-                Row row = sheet.createRow(rowIdx++);
-                row.createCell(0).setCellValue(b.getId());
-                row.createCell(1).setCellValue(b.getShow().getMovie().getTitle());
-                row.createCell(2).setCellValue(b.getShow().getShowTime().toString());
-                row.createCell(3).setCellValue(b.getSeatNo());
-                row.createCell(4).setCellValue(b.getShow().getPrice());
-                row.createCell(5).setCellValue(b.getStatus().name());
-            }
-
-            workbook.write(out);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=booking_report.xlsx")
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .body(out.toByteArray());
+    public void exportExcel(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String movie,
+            @RequestParam(required = false) BookingStatus status,
+            HttpServletResponse response) {
+        try {
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=booking_report.xlsx");
+            bookingReportService.exportExcel(new BookingReportFilter(startDate, endDate, movie, status),
+                    response.getOutputStream());
         } catch (Exception e) {
             throw new RuntimeException("Error exporting Excel: " + e.getMessage());
         }
@@ -145,7 +134,13 @@ public class AdminController {
     @GetMapping("/users")
     public String users(Model model) {
         List<Customer> users = customerRepository.findAll();
+        // One grouped count instead of initializing every user's bookings collection
+        Map<Long, Long> bookingCounts = new HashMap<>();
+        for (Object[] row : bookingRepository.countPerCustomer()) {
+            bookingCounts.put((Long) row[0], (Long) row[1]);
+        }
         model.addAttribute("users", users);
+        model.addAttribute("bookingCounts", bookingCounts);
         model.addAttribute("roles", Role.values());
         return "admin/admin-users";
     }
@@ -166,40 +161,57 @@ public class AdminController {
     }
 
     @GetMapping("/halls")
-    public String hallOccupancy(Model model) {
-        List<Show> shows = showRepository.findAll();
-        List<Map<String, Object>> hallData = new ArrayList<>();
-        for (Show show : shows) {
-            long totalSeats = show.getSeats().size();
-            long bookedSeats = show.getSeats().stream().filter(Seat::isBooked).count();
-            double occupancyRate = totalSeats == 0 ? 0 : (bookedSeats * 100.0 / totalSeats);
-
-            Map<String, Object> hall = new HashMap<>();
-            hall.put("hallNo", show.getHallNo());
-            hall.put("movie", show.getMovie().getTitle());
-            hall.put("showTime", show.getShowTime());
-            hall.put("bookedSeats", bookedSeats);
-            hall.put("totalSeats", totalSeats);
-            hall.put("occupancyRate", occupancyRate);
-            hallData.add(hall);
-        }
-        model.addAttribute("halls", hallData);
+    public String hallOccupancy(@RequestParam(defaultValue = "false") boolean all, Model model) {
+        model.addAttribute("halls", occupancyService.getOccupancy(all));
+        model.addAttribute("showAll", all);
         return "admin/admin-halls";
     }
 
+    /** Hit/miss statistics of the application caches */
+    @GetMapping("/cache-stats")
+    @ResponseBody
+    public Map<String, Map<String, Object>> cacheStats() {
+        Map<String, Map<String, Object>> stats = new TreeMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (!(cacheManager.getCache(name) instanceof CaffeineCache cache)) continue;
+            CacheStats s = cache.getNativeCache().stats();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("size", cache.getNativeCache().estimatedSize());
+            entry.put("hits", s.hitCount());
+            entry.put("misses", s.missCount());
+            entry.put("hitRate", s.hitRate());
+            entry.put("evictions", s.evictionCount());
+            stats.put(name, entry);
+        }
+        return stats;
+    }
+
+    /** Counters of the asynchronous error log writer, including dropped errors */
+    @GetMapping("/error-stats")
+    @ResponseBody
+    public ErrorLogStats errorStats() {
+        return errorLogService.stats();
+    }
+
     @GetMapping("/errors")
-    public String viewErrors(Model model) {
-        List<ErrorLog> logs = errorLogRepository.findAll()
-                .stream()
-                .sorted((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()))
-                .toList();
+    public String viewErrors(@RequestParam(required = false) String source,
+                             @RequestParam(required = false) Long before,
+                             Model model) {
+        // One page (plus one row to detect a next page), newest first, filtered in SQL
+        String sourceFilter = (source == null || source.isBlank()) ? null : source;
+        List<ErrorLog> logs = errorLogRepository.findPage(sourceFilter, before, PageRequest.of(0, ERROR_PAGE_SIZE + 1));
+        boolean hasMore = logs.size() > ERROR_PAGE_SIZE;
+        if (hasMore) logs = logs.subList(0, ERROR_PAGE_SIZE);
 
         model.addAttribute("logs", logs);
+        model.addAttribute("sources", errorLogRepository.findSources());
+        model.addAttribute("selectedSource", sourceFilter);
+        model.addAttribute("nextBefore", hasMore ? logs.get(logs.size() - 1).getId() : null);
+        model.addAttribute("paged", before != null);
         model.addAttribute("uptime", ManagementFactory.getRuntimeMXBean().getUptime() / 1000);
         model.addAttribute("activeUsers", customerRepository.count());
         model.addAttribute("totalBookings", bookingRepository.count());
-        model.addAttribute("failedBookings",
-                logs.stream().filter(l -> l.getSource().equalsIgnoreCase("BookingService")).count());
+        model.addAttribute("failedBookings", errorLogRollupService.totalOccurrences("BookingService"));
         return "admin/admin-errors";
     }
 }
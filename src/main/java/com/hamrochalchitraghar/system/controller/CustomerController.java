@@ -1,33 +1,41 @@
 package com.hamrochalchitraghar.system.controller;
 
+import com.hamrochalchitraghar.system.config.SeatHoldProperties;
 import com.hamrochalchitraghar.system.model.*;
 import com.hamrochalchitraghar.system.model.enums.BookingChannel;
 import com.hamrochalchitraghar.system.repository.*;
 import com.hamrochalchitraghar.system.service.BookingService;
+import com.hamrochalchitraghar.system.service.CatalogueService;
+import com.hamrochalchitraghar.system.service.IdempotentBookingService;
+import com.hamrochalchitraghar.system.service.SeatBroadcastService;
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/user")
 public class CustomerController {
 
-    private final MovieRepository movieRepository;
     private final ShowRepository showRepository;
     private final BookingRepository bookingRepository;
     private final BookingService bookingService;
     private final CustomerRepository customerRepository;
+    private final SeatHoldProperties holdProperties;
+    private final SeatBroadcastService seatBroadcastService;
+    private final CatalogueService catalogueService;
+    private final IdempotentBookingService idempotentBookingService;
 
     /** 🎬 User Dashboard — List all movies */
     @GetMapping("/dashboard")
     public String home(Model model) {
         try {
-            List<Movie> movies = movieRepository.findAll();
-            model.addAttribute("movies", movies);
+            model.addAttribute("movies", catalogueService.getNowShowing());
             return "user/user-dashboard";
         } catch (Exception e) {
             e.printStackTrace();
@@ -40,11 +48,8 @@ public class CustomerController {
     @GetMapping("/movies/{id}")
     public String movieDetails(@PathVariable Long id, Model model) {
         try {
-            Movie movie = movieRepository.findById(id)
-                    .orElseThrow(() -> new RuntimeException("Movie not found"));
-            List<Show> shows = showRepository.findByMovieId(id);
-            model.addAttribute("movie", movie);
-            model.addAttribute("shows", shows);
+            model.addAttribute("movie", catalogueService.getMovie(id));
+            model.addAttribute("shows", catalogueService.getShows(id));
             return "user/movie-details";
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
@@ -60,11 +65,16 @@ public class CustomerController {
     @GetMapping("/shows/{id}")
     public String seatSelection(@PathVariable Long id, Model model) {
         try {
-            Show show = showRepository.findById(id)
+            Show show = showRepository.findWithMovieById(id)
                     .orElseThrow(() -> new RuntimeException("Show not found"));
+            long seatVersion = seatBroadcastService.currentVersion(id);
             List<Seat> seats = bookingService.getAvailableSeats(id);
             model.addAttribute("show", show);
+            model.addAttribute("seatVersion", seatVersion);
+            model.addAttribute("seatNode", seatBroadcastService.nodeId());
             model.addAttribute("seats", seats);
+            model.addAttribute("holdTtlSeconds", holdProperties.ttl().toSeconds());
+            model.addAttribute("requestKey", UUID.randomUUID().toString());
             return "user/seat-selection";
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
@@ -82,13 +92,17 @@ public class CustomerController {
             @PathVariable Long id,
             @RequestParam Long customerId,
             @RequestParam List<String> seatNumbers,
+            @RequestParam(required = false) String requestKey,
+            HttpSession session,
             Model model) {
         try {
             // Validate customer first
             Customer customer = customerRepository.findById(customerId)
                     .orElseThrow(() -> new RuntimeException("Customer not found with ID: " + customerId));
 
-            Booking booking = bookingService.bookSeats(customer.getId(), id, seatNumbers, BookingChannel.ONLINE);
+            // A resubmitted form (same request key) gets the original booking back
+            Booking booking = idempotentBookingService.book(requestKey, customer.getId(), id, seatNumbers,
+                    BookingChannel.ONLINE, session.getId()).booking();
             model.addAttribute("booking", booking);
             return "user/booking-confirmation-user";
 
@@ -0,0 +1,44 @@
+package com.hamrochalchitraghar.system.controller;
+
+import com.hamrochalchitraghar.system.dto.PrintJob;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import com.hamrochalchitraghar.system.service.PrintService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Ticket print jobs for the box office: poll a job's status or queue a reprint.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/staff/print-jobs")
+public class PrintJobController {
+
+    private final PrintService printService;
+    private final BookingRepository bookingRepository;
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<PrintJob> status(@PathVariable String jobId) {
+        return ResponseEntity.of(printService.find(jobId));
+    }
+
+    @PostMapping
+    public ResponseEntity<PrintJob> reprint(@RequestParam Long bookingId) {
+        return bookingRepository.findWithShowById(bookingId)
+                .map(booking -> ResponseEntity.status(HttpStatus.ACCEPTED).body(printService.printTicket(booking)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Printer queue is full; anything else goes through the normal error handling.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleRejected(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+}
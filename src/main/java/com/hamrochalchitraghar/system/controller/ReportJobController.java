@@ -0,0 +1,63 @@
+package com.hamrochalchitraghar.system.controller;
+
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.ReportJob;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+import com.hamrochalchitraghar.system.service.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Background report exports: submit, poll, then download the finished file.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin/reports/jobs")
+public class ReportJobController {
+
+    private final ReportJobService reportJobService;
+
+    @PostMapping
+    public ResponseEntity<ReportJob> submit(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String movie,
+            @RequestParam(required = false) BookingStatus status) {
+        ReportJob job = reportJobService.submit(new BookingReportFilter(startDate, endDate, movie, status));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ReportJob> status(@PathVariable String jobId) {
+        return ResponseEntity.of(reportJobService.find(jobId));
+    }
+
+    @GetMapping("/{jobId}/download")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        return reportJobService.artifact(jobId)
+                .<ResponseEntity<Resource>>map(path -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=booking_report.xlsx")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .body(new FileSystemResource(path)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Report queue is full; anything else goes through the normal error handling.
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleRejected(TaskRejectedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(Map.of("error", e.getMessage()));
+    }
+}
@@ -0,0 +1,43 @@
+package com.hamrochalchitraghar.system.controller;
+
+import com.hamrochalchitraghar.system.dto.SeatHold;
+import com.hamrochalchitraghar.system.service.BookingService;
+import jakarta.servlet.http.HttpSession;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seat holds for the seat pages. The HTTP session is the holder, so a tab can
+ * renew and release its own holds but never anyone else's.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/shows/{showId}/holds")
+public class SeatHoldController {
+
+    private final BookingService bookingService;
+
+    /** Place or renew a hold; called on seat click and periodically while the page is open */
+    @PostMapping
+    public SeatHold hold(@PathVariable Long showId, @RequestParam List<String> seatNumbers, HttpSession session) {
+        return bookingService.holdSeats(showId, seatNumbers, session.getId());
+    }
+
+    /** Release held seats (deselect, leaving the page) */
+    @DeleteMapping
+    public ResponseEntity<Void> release(@PathVariable Long showId, @RequestParam List<String> seatNumbers,
+                                        HttpSession session) {
+        bookingService.releaseSeats(showId, seatNumbers, session.getId());
+        return ResponseEntity.noContent().build();
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Map<String, String>> handleUnavailable(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
+    }
+}
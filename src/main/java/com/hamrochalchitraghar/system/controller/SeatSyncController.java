@@ -1,21 +1,76 @@
 package com.hamrochalchitraghar.system.controller;
 
+import com.hamrochalchitraghar.system.dto.SeatSync;
+import com.hamrochalchitraghar.system.dto.SeatUpdateRequest;
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+import com.hamrochalchitraghar.system.service.BookingService;
+import com.hamrochalchitraghar.system.service.SeatBroadcastService;
+import com.hamrochalchitraghar.system.service.SeatUpdateThrottle;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.socket.server.support.HttpSessionHandshakeInterceptor;
+
+import java.util.List;
 import java.util.Map;
 
 @Controller
 @RequiredArgsConstructor
 public class SeatSyncController {
 
-    private final SimpMessagingTemplate messagingTemplate;
+    private final BookingService bookingService;
+    private final SeatBroadcastService seatBroadcastService;
+    private final SeatUpdateThrottle seatUpdateThrottle;
 
+    /**
+     * Client-originated seat change. Nothing is relayed as sent: LOCKED places or renews a
+     * hold and AVAILABLE releases one, and subscribers only hear about it through the
+     * regular broadcast when the seat engine actually changed state.
+     */
     @MessageMapping("/seat-update")
-    public void broadcastSeatUpdate(Map<String, Object> update) {
-        // Expecting: { "showId": 1, "seatNo": "A1", "status": "LOCKED", "updatedBy": "USER" }
-        Long showId = Long.parseLong(update.get("showId").toString());
-        messagingTemplate.convertAndSend("/topic/seats/" + showId, update);
+    public void handleSeatUpdate(@Payload SeatUpdateRequest update, SimpMessageHeaderAccessor headers) {
+        String sessionId = headers.getSessionId();
+        if (!seatUpdateThrottle.tryAcquire(sessionId)) {
+            System.out.println("⚠️ Seat update dropped: rate limit exceeded for session " + sessionId);
+            return;
+        }
+        if (update.showId() == null || update.seatNo() == null || update.status() == null) return;
+
+        String holder = holder(headers);
+        try {
+            if (update.status() == SeatStatus.LOCKED) {
+                bookingService.holdSeats(update.showId(), List.of(update.seatNo()), holder);
+            } else if (update.status() == SeatStatus.AVAILABLE) {
+                bookingService.releaseSeats(update.showId(), List.of(update.seatNo()), holder);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("⚠️ Seat update rejected for Show ID " + update.showId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Resync for a seat page that detected a gap in /topic/seats/{showId} versions.
+     */
+    @GetMapping("/api/shows/{showId}/seats")
+    @ResponseBody
+    public SeatSync sync(@PathVariable Long showId,
+                         @RequestParam(required = false) String node,
+                         @RequestParam(required = false) Long since) {
+        return seatBroadcastService.sync(showId, node, since);
+    }
+
+    /**
+     * Holds placed over STOMP belong to the same HTTP session as those placed over REST.
+     */
+    private String holder(SimpMessageHeaderAccessor headers) {
+        Map<String, Object> attributes = headers.getSessionAttributes();
+        Object httpSessionId = attributes == null ? null : attributes.get(HttpSessionHandshakeInterceptor.HTTP_SESSION_ID_ATTR_NAME);
+        return httpSessionId != null ? httpSessionId.toString() : headers.getSessionId();
     }
 }
@@ -0,0 +1,46 @@
+package com.hamrochalchitraghar.system.controller;
+
+import com.hamrochalchitraghar.system.dto.ScheduledShow;
+import com.hamrochalchitraghar.system.dto.ShowRequest;
+import com.hamrochalchitraghar.system.model.HallLayout;
+import com.hamrochalchitraghar.system.service.ShowSchedulingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hall layouts and bulk show scheduling, e.g. publishing a week across all halls in one call.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/admin")
+public class ShowScheduleController {
+
+    private final ShowSchedulingService showSchedulingService;
+
+    @PostMapping("/shows")
+    public ResponseEntity<List<ScheduledShow>> schedule(@RequestBody List<ShowRequest> requests) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(showSchedulingService.schedule(requests));
+    }
+
+    @GetMapping("/layouts")
+    public List<HallLayout> layouts() {
+        return showSchedulingService.getLayouts();
+    }
+
+    @PutMapping("/layouts/{hallNo}")
+    public HallLayout saveLayout(@PathVariable int hallNo, @RequestBody HallLayout layout) {
+        return showSchedulingService.saveLayout(hallNo, layout);
+    }
+
+    @ExceptionHandler(RuntimeException.class)
+    public ResponseEntity<Map<String, String>> handleInvalid(RuntimeException e) {
+        return ResponseEntity.badRequest().body(Map.of("error",
+                Objects.requireNonNullElse(e.getMessage(), "Invalid show or layout request.")));
+    }
+}
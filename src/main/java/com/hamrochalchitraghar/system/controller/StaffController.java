@@ -1,10 +1,18 @@
 package com.hamrochalchitraghar.system.controller;
 
+import com.hamrochalchitraghar.system.config.SeatHoldProperties;
+import com.hamrochalchitraghar.system.dto.BookingSubmission;
+import com.hamrochalchitraghar.system.dto.PrintJob;
 import com.hamrochalchitraghar.system.model.*;
 import com.hamrochalchitraghar.system.model.enums.BookingChannel;
 import com.hamrochalchitraghar.system.repository.*;
 import com.hamrochalchitraghar.system.service.BookingService;
+import com.hamrochalchitraghar.system.service.IdempotentBookingService;
+import com.hamrochalchitraghar.system.service.SeatBroadcastService;
 import com.hamrochalchitraghar.system.service.PrintService;
+import com.hamrochalchitraghar.system.service.ScheduleService;
+import com.hamrochalchitraghar.system.service.SeatStateService;
+import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -12,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequiredArgsConstructor
@@ -19,10 +28,14 @@ import java.util.List;
 public class StaffController {
 
     private final ShowRepository showRepository;
-    private final SeatRepository seatRepository;
+    private final SeatStateService seatStateService;
     private final BookingRepository bookingRepository;
     private final BookingService bookingService;
     private final PrintService printService;
+    private final SeatHoldProperties holdProperties;
+    private final SeatBroadcastService seatBroadcastService;
+    private final ScheduleService scheduleService;
+    private final IdempotentBookingService idempotentBookingService;
 
     /**
      * Dashboard — view today's shows
@@ -30,13 +43,7 @@ public class StaffController {
     @GetMapping("/dashboard")
     public String dashboard(Model model) {
         try {
-            LocalDate today = LocalDate.now();
-            List<Show> shows = showRepository.findAll()
-                    .stream()
-                    .filter(s -> s.getShowTime().toLocalDate().isEqual(today))
-                    .toList();
-
-            model.addAttribute("shows", shows);
+            model.addAttribute("shows", scheduleService.getShowsForDay(LocalDate.now()));
             return "staff/staff-dashboard";
         } catch (Exception e) {
             e.printStackTrace();
@@ -51,12 +58,17 @@ public class StaffController {
     @GetMapping("/shows/{id}")
     public String seatSelection(@PathVariable Long id, Model model) {
         try {
-            Show show = showRepository.findById(id)
+            Show show = showRepository.findWithMovieById(id)
                     .orElseThrow(() -> new RuntimeException("Show not found"));
-            List<Seat> seats = seatRepository.findByShowId(id);
+            long seatVersion = seatBroadcastService.currentVersion(id);
+            List<Seat> seats = seatStateService.getSeats(id);
 
             model.addAttribute("show", show);
             model.addAttribute("seats", seats);
+            model.addAttribute("seatVersion", seatVersion);
+            model.addAttribute("seatNode", seatBroadcastService.nodeId());
+            model.addAttribute("holdTtlSeconds", holdProperties.ttl().toSeconds());
+            model.addAttribute("requestKey", UUID.randomUUID().toString());
             return "staff/staff-seat-selection";
         } catch (RuntimeException e) {
             model.addAttribute("error", e.getMessage());
@@ -74,12 +86,23 @@ public class StaffController {
     @PostMapping("/shows/{id}/book")
     public String confirmBooking(@PathVariable Long id,
                                  @RequestParam List<String> seatNumbers,
+                                 @RequestParam(required = false) String requestKey,
+                                 HttpSession session,
                                  Model model) {
         try {
-            Booking booking = bookingService.bookSeats(null, id, seatNumbers, BookingChannel.BOX_OFFICE);
-
-            // Immediately print via POS printer
-            printService.printTicket(booking);
+            BookingSubmission submission = idempotentBookingService.book(requestKey, null, id, seatNumbers,
+                    BookingChannel.BOX_OFFICE, session.getId());
+            Booking booking = submission.booking();
+
+            // Queue tickets on the POS printer (a resubmitted form does not print a second ticket)
+            try {
+                PrintJob printJob = submission.duplicate()
+                        ? printService.findLatestForBooking(booking.getId()).orElse(null)
+                        : printService.printTicket(booking);
+                model.addAttribute("printJob", printJob);
+            } catch (RuntimeException e) {
+                model.addAttribute("printError", e.getMessage());
+            }
 
             // Pass booking info to confirmation page
             model.addAttribute("booking", booking);
@@ -101,10 +124,7 @@ public class StaffController {
     @GetMapping("/bookings")
     public String viewBookings(Model model) {
         try {
-            List<Booking> bookings = bookingRepository.findAll()
-                    .stream()
-                    .filter(b -> b.getChannel() == BookingChannel.BOX_OFFICE)
-                    .toList();
+            List<Booking> bookings = bookingRepository.findByChannel(BookingChannel.BOX_OFFICE);
 
             model.addAttribute("bookings", bookings);
             return "staff/staff-bookings";
@@ -139,7 +159,7 @@ public class StaffController {
     @GetMapping("/print/{id}")
     public String printTicket(@PathVariable Long id, Model model) {
         try {
-            Booking booking = bookingRepository.findById(id)
+            Booking booking = bookingRepository.findWithShowById(id)
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
             model.addAttribute("booking", booking);
             return "staff/print-ticket";
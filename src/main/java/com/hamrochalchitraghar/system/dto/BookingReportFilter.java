@@ -0,0 +1,11 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Admin report filters; every field is optional. Dates are inclusive booking days.
+ */
+public record BookingReportFilter(LocalDate startDate, LocalDate endDate, String movie, BookingStatus status) {
+}
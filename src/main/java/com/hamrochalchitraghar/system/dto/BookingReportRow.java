@@ -0,0 +1,12 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only booking line carrying just the columns the admin report renders.
+ */
+public record BookingReportRow(Long id, String movie, LocalDateTime showTime, String seatNo, Double price,
+                               BookingStatus status) {
+}
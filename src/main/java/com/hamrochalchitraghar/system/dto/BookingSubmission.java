@@ -0,0 +1,11 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.Booking;
+
+/**
+ * Outcome of a booking form submission.
+ *
+ * @param duplicate true when the request key was already used and the first booking is returned
+ */
+public record BookingSubmission(Booking booking, boolean duplicate) {
+}
@@ -0,0 +1,9 @@
+package com.hamrochalchitraghar.system.dto;
+
+/**
+ * Active (not cancelled) bookings, seats sold and revenue for one aggregate key.
+ */
+public record BookingTotals(long bookings, long seats, double revenue) {
+
+    public static final BookingTotals EMPTY = new BookingTotals(0, 0, 0);
+}
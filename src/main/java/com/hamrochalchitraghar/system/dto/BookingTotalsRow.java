@@ -0,0 +1,9 @@
+package com.hamrochalchitraghar.system.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Active bookings grouped by show and booking day, used to seed the dashboard aggregates.
+ */
+public record BookingTotalsRow(Long showId, String movie, LocalDate day, Long bookings, Long seats, Double revenue) {
+}
@@ -0,0 +1,9 @@
+package com.hamrochalchitraghar.system.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Grouped error count for one source in one hour of one day, as read for the rollups.
+ */
+public record ErrorLogHourRow(LocalDate day, Integer hour, String source, Long occurrences) {
+}
@@ -0,0 +1,13 @@
+package com.hamrochalchitraghar.system.dto;
+
+/**
+ * Counters of the error log writer since startup.
+ *
+ * @param accepted errors taken into the buffer
+ * @param dropped  errors lost because the buffer was full or the write failed
+ * @param written  rows inserted
+ * @param merged   repeats folded into an existing row's count
+ * @param queued   errors waiting in the buffer right now
+ */
+public record ErrorLogStats(long accepted, long dropped, long written, long merged, int queued) {
+}
@@ -0,0 +1,21 @@
+package com.hamrochalchitraghar.system.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Booked versus total seats of one show, as shown on the admin halls page.
+ */
+public record HallOccupancy(Long showId, Integer hallNo, String movie, LocalDateTime showTime, Integer duration,
+                            Long bookedSeats, Long totalSeats) {
+
+    public double occupancyRate() {
+        return totalSeats == 0 ? 0 : bookedSeats * 100.0 / totalSeats;
+    }
+
+    /**
+     * Still running or yet to start at {@code now}.
+     */
+    public boolean endsAfter(LocalDateTime now) {
+        return showTime != null && showTime.plusMinutes(duration == null ? 0 : duration).isAfter(now);
+    }
+}
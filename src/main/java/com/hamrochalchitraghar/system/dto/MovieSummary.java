@@ -0,0 +1,7 @@
+package com.hamrochalchitraghar.system.dto;
+
+/**
+ * Movie fields shown on the customer pages; a plain value so it can be cached safely.
+ */
+public record MovieSummary(Long id, String title, String genre, Integer duration, String language, String posterUrl) {
+}
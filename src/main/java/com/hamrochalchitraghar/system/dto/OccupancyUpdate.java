@@ -0,0 +1,7 @@
+package com.hamrochalchitraghar.system.dto;
+
+/**
+ * Live occupancy frame for one show on {@code /topic/occupancy}.
+ */
+public record OccupancyUpdate(Long showId, long bookedSeats, long totalSeats) {
+}
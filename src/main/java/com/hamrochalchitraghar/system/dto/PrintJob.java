@@ -0,0 +1,18 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.enums.PrintJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of one spooled ticket print job (all tickets of a booking), as polled by the staff page.
+ */
+public record PrintJob(String id, Long bookingId, String printer, int tickets, PrintJobStatus status, int attempts,
+                       String error, LocalDateTime createdAt, LocalDateTime finishedAt) {
+
+    public PrintJob withStatus(PrintJobStatus status, int attempts, String error) {
+        LocalDateTime finished = status == PrintJobStatus.DONE || status == PrintJobStatus.FAILED
+                ? LocalDateTime.now() : null;
+        return new PrintJob(id, bookingId, printer, tickets, status, attempts, error, createdAt, finished);
+    }
+}
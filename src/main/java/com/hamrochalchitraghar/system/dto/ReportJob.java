@@ -0,0 +1,18 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.enums.ReportJobStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of one background report export, as returned to the polling client.
+ */
+public record ReportJob(String id, ReportJobStatus status, BookingReportFilter filter, long rows, String error,
+                        LocalDateTime createdAt, LocalDateTime finishedAt) {
+
+    public ReportJob withStatus(ReportJobStatus status, long rows, String error) {
+        LocalDateTime finished = status == ReportJobStatus.DONE || status == ReportJobStatus.FAILED
+                ? LocalDateTime.now() : null;
+        return new ReportJob(id, status, filter, rows, error, createdAt, finished);
+    }
+}
@@ -0,0 +1,9 @@
+package com.hamrochalchitraghar.system.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the box-office schedule; a plain value so it can be cached safely.
+ */
+public record ScheduledShow(Long id, String movie, Integer hallNo, LocalDateTime showTime, Double price) {
+}
@@ -0,0 +1,14 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact seat update frame: the seats of one show that changed, grouped by new state.
+ * {@code seq} increases by one per frame and show on the publishing {@code node}; with a
+ * shared broker relay, frames of other nodes arrive on the same topic with their own sequence.
+ */
+public record SeatDelta(Long showId, String node, long seq, Map<SeatStatus, List<String>> seats) {
+}
@@ -0,0 +1,10 @@
+package com.hamrochalchitraghar.system.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Seats currently held for one seat-page session and when the hold lapses unless renewed.
+ */
+public record SeatHold(Long showId, List<String> seatNumbers, LocalDateTime expiresAt) {
+}
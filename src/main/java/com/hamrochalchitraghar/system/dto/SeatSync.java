@@ -0,0 +1,16 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resync answer for a client that missed frames. Either the deltas after the
+ * client's version, or (when those are no longer retained) a full snapshot that
+ * is at least as new as {@code version} followed by any later deltas.
+ * Deltas carry absolute seat states, so replaying one twice is harmless.
+ * {@code node} identifies the node whose sequence {@code version} belongs to.
+ */
+public record SeatSync(Long showId, String node, long version, Map<String, SeatStatus> snapshot, List<SeatDelta> deltas) {
+}
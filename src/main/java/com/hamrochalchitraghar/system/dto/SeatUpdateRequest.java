@@ -0,0 +1,9 @@
+package com.hamrochalchitraghar.system.dto;
+
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+
+/**
+ * Seat change asked for by a client over STOMP: LOCKED holds the seat, AVAILABLE releases it.
+ */
+public record SeatUpdateRequest(Long showId, String seatNo, SeatStatus status) {
+}
@@ -0,0 +1,9 @@
+package com.hamrochalchitraghar.system.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One show to put on the schedule; its seats come from the hall's layout.
+ */
+public record ShowRequest(Long movieId, Integer hallNo, LocalDateTime showTime, Double price) {
+}
@@ -0,0 +1,14 @@
+package com.hamrochalchitraghar.system.event;
+
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a booking is made (BOOKED) or cancelled (CANCELLED); applied to the
+ * dashboard aggregates only after the publishing transaction commits.
+ * {@code day} is the day the booking was made, so a cancellation reverses that day's sale.
+ */
+public record BookingChangedEvent(Long showId, String movie, LocalDate day, int seats, double revenue,
+                                  BookingStatus status) {
+}
@@ -0,0 +1,8 @@
+package com.hamrochalchitraghar.system.event;
+
+/**
+ * Published when a movie or show is inserted, updated or deleted through JPA; caches of
+ * catalogue and schedule data drop their entries once the change has committed.
+ */
+public record CatalogueChangedEvent(Class<?> type, Object id) {
+}
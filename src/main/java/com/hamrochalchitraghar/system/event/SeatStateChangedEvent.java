@@ -0,0 +1,11 @@
+package com.hamrochalchitraghar.system.event;
+
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+
+import java.util.List;
+
+/**
+ * Published whenever seats of a show change state; broadcast only after the publishing transaction commits.
+ */
+public record SeatStateChangedEvent(Long showId, List<String> seatNumbers, SeatStatus status) {
+}
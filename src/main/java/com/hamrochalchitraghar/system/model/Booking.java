@@ -6,9 +6,14 @@ import com.hamrochalchitraghar.system.model.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_booking_time", columnList = "booking_time"),
+        @Index(name = "idx_bookings_status", columnList = "status"),
+        @Index(name = "idx_bookings_show_id", columnList = "show_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,15 +24,15 @@ public class Booking {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "show_id")
     private Show show;
 
-    private String seatNo;
+    private String seatNo; // Display label ("A1,A2"); the seats themselves are in booking_seats
     private LocalDateTime bookingTime;
 
     @Enumerated(EnumType.STRING)
@@ -44,4 +49,7 @@ public class Booking {
 
     @Column(name = "cancellation_reason")
     private String cancellationReason;
+
+    @OneToMany(mappedBy = "booking", cascade = CascadeType.ALL)
+    private List<BookingSeat> seats;
 }
@@ -0,0 +1,36 @@
+package com.hamrochalchitraghar.system.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client-supplied key of a booking submission, written in the booking's transaction.
+ * The unique key makes a second booking under the same key fail on every node.
+ */
+@Entity
+@Table(name = "booking_request_keys", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_booking_request_keys_request_key", columnNames = "request_key")
+}, indexes = {
+        @Index(name = "idx_booking_request_keys_created_at", columnList = "created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingRequestKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "request_key", nullable = false, length = 64)
+    private String requestKey;
+
+    private Long bookingId;
+    private Long showId;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+}
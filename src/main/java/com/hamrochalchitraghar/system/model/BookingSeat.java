@@ -0,0 +1,35 @@
+package com.hamrochalchitraghar.system.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One seat held by one booking. Replaces parsing {@link Booking#getSeatNo()} wherever
+ * the seats themselves are needed; the seat label string is kept for display only.
+ */
+@Entity
+@Table(name = "booking_seats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_booking_seats_booking_seat", columnNames = {"booking_id", "seat_id"})
+}, indexes = {
+        @Index(name = "idx_booking_seats_seat_id", columnList = "seat_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingSeat {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "booking_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Booking booking;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "seat_id", nullable = false)
+    private Seat seat;
+}
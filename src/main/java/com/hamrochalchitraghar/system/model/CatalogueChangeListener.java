@@ -0,0 +1,28 @@
+package com.hamrochalchitraghar.system.model;
+
+import com.hamrochalchitraghar.system.event.CatalogueChangedEvent;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * JPA listener on {@link Movie} and {@link Show}; instantiated by Spring through Hibernate's bean container.
+ */
+public class CatalogueChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CatalogueChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        Object id = entity instanceof Movie movie ? movie.getId()
+                : entity instanceof Show show ? show.getId() : null;
+        eventPublisher.publishEvent(new CatalogueChangedEvent(entity.getClass(), id));
+    }
+}
@@ -9,7 +9,10 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "error_logs")
+@Table(name = "error_logs", indexes = {
+        @Index(name = "idx_error_logs_timestamp", columnList = "timestamp"),
+        @Index(name = "idx_error_logs_source_timestamp", columnList = "source, timestamp")
+})
 public class ErrorLog {
 
     @Id
@@ -17,7 +20,14 @@ public class ErrorLog {
     private Long id;
 
     private String source;         // e.g., BookingService, WebSocket
+
+    @Column(length = 1000)
     private String message;        // Error message
+
+    @Column(length = 2000)
     private String stackTrace;     // Optional full trace
-    private LocalDateTime timestamp;
+
+    private LocalDateTime timestamp;   // First occurrence
+    private LocalDateTime lastSeen;    // Latest repeat folded into this row
+    private int occurrences;           // 1 + repeats within the dedupe window
 }
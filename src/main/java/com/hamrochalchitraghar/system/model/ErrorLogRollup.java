@@ -0,0 +1,31 @@
+package com.hamrochalchitraghar.system.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Errors per source in one clock hour. Outlives the purged error_logs rows it was counted from.
+ */
+@Entity
+@Table(name = "error_log_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_error_log_rollups_period_source", columnNames = {"period_start", "source"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ErrorLogRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDateTime periodStart;
+
+    private String source;
+
+    private long occurrences;
+}
@@ -0,0 +1,57 @@
+package com.hamrochalchitraghar.system.model;
+
+import com.hamrochalchitraghar.system.model.enums.SeatType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Seat plan of one hall: a grid of rows (A, B, ...) by seats per row, with optional
+ * zones that give whole rows a seat type. Every show in the hall gets its seats from it.
+ */
+@Entity
+@Table(name = "hall_layouts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HallLayout {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private int hallNo;
+
+    private int rowCount;
+    private int seatsPerRow;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "hall_layout_zones", joinColumns = @JoinColumn(name = "layout_id"))
+    private List<SeatZone> zones;
+
+    public int capacity() {
+        return rowCount * seatsPerRow;
+    }
+
+    /** Rows outside every zone are regular seats. */
+    public SeatType seatTypeFor(int row) {
+        if (zones != null) {
+            for (SeatZone zone : zones) {
+                if (row >= zone.getFirstRow() && row <= zone.getLastRow()) return zone.getSeatType();
+            }
+        }
+        return SeatType.REGULAR;
+    }
+
+    /** Seat label for a 1-based row and column: A1, B12, ..., Z3, AA1. */
+    public static String seatNo(int row, int column) {
+        StringBuilder label = new StringBuilder();
+        for (int r = row; r > 0; r = (r - 1) / 26) {
+            label.insert(0, (char) ('A' + (r - 1) % 26));
+        }
+        return label.append(column).toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.hamrochalchitraghar.system.model;
+
+import com.hamrochalchitraghar.system.model.enums.MailStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outgoing email written in the same transaction as the booking that caused it.
+ * Rows are drained after commit by EmailOutboxDispatcher.
+ */
+@Entity
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MailOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long bookingId;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    private String subject;
+
+    @Column(columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    private MailStatus status;
+
+    private int attempts;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
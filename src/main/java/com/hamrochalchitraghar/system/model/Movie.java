@@ -7,6 +7,7 @@ import java.util.List;
 
 @Entity
 @Table(name = "movies")
+@EntityListeners(CatalogueChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
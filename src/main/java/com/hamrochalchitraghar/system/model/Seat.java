@@ -7,7 +7,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "seats")
+@Table(name = "seats", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_seats_show_seat_no", columnNames = {"show_id", "seat_no"})
+}, indexes = {
+        @Index(name = "idx_seats_booked_locked_at", columnList = "booked, locked_at"),
+        @Index(name = "idx_seats_show_booked", columnList = "show_id, booked")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -18,7 +23,7 @@ public class Seat {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "show_id")
     private Show show;
 
@@ -35,4 +40,7 @@ public class Seat {
     @Column(name = "locked_at")
     private LocalDateTime lockedAt;
 
+    // Optimistic guard for the write-behind from the in-memory seat claims
+    @Version
+    private long version;
 }
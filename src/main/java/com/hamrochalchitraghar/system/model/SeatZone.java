@@ -0,0 +1,24 @@
+package com.hamrochalchitraghar.system.model;
+
+import com.hamrochalchitraghar.system.model.enums.SeatType;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.*;
+
+/**
+ * A band of rows in a hall that share one seat type. Rows are 1-based and inclusive.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatZone {
+
+    private int firstRow;
+    private int lastRow;
+
+    @Enumerated(EnumType.STRING)
+    private SeatType seatType;
+}
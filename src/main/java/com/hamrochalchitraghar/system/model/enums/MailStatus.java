@@ -0,0 +1,7 @@
+package com.hamrochalchitraghar.system.model.enums;
+
+public enum MailStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,9 @@
+package com.hamrochalchitraghar.system.model.enums;
+
+public enum PrintJobStatus {
+    QUEUED,
+    PRINTING,
+    RETRYING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.hamrochalchitraghar.system.model.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
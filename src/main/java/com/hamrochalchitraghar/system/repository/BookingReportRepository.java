@@ -0,0 +1,31 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.BookingReportRow;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Report queries on bookings with the filters applied in SQL.
+ */
+public interface BookingReportRepository {
+
+    /**
+     * One page of report rows, newest booking first. Pages are keyed by booking id:
+     * pass the last id of the previous page as {@code beforeId} (null for the first page).
+     */
+    List<BookingReportRow> findReportPage(BookingReportFilter filter, Long beforeId, int limit);
+
+    /**
+     * All matching rows in booking id order, read through a forward-only cursor.
+     * Must be consumed (and closed) inside a transaction.
+     */
+    Stream<BookingReportRow> streamReport(BookingReportFilter filter);
+
+    /**
+     * Cheap summary of the matching rows (count, newest id, latest cancellation) that
+     * changes whenever a booking in the filter's range is added or cancelled.
+     */
+    String reportFingerprint(BookingReportFilter filter);
+}
@@ -0,0 +1,101 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.BookingReportRow;
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.Show;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Criteria implementation of {@link BookingReportRepository}, picked up by Spring Data
+ * as a fragment of {@link BookingRepository}.
+ */
+public class BookingReportRepositoryImpl implements BookingReportRepository {
+
+    // Rows per round trip when streaming; needs useCursorFetch on the MySQL URL to take effect
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingReportRow> findReportPage(BookingReportFilter filter, Long beforeId, int limit) {
+        return entityManager.createQuery(reportQuery(filter, beforeId, false))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public Stream<BookingReportRow> streamReport(BookingReportFilter filter) {
+        return entityManager.createQuery(reportQuery(filter, null, true))
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String reportFingerprint(BookingReportFilter filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Show> show = booking.join("show");
+        Join<Show, Movie> movie = show.join("movie");
+
+        query.multiselect(cb.count(booking), cb.max(booking.get("id")),
+                        cb.greatest(booking.<LocalDateTime>get("cancelledAt")))
+                .where(predicates(cb, booking, movie, filter).toArray(Predicate[]::new));
+
+        Object[] result = entityManager.createQuery(query).getSingleResult();
+        return result[0] + ":" + result[1] + ":" + result[2];
+    }
+
+    private CriteriaQuery<BookingReportRow> reportQuery(BookingReportFilter filter, Long beforeId, boolean ascending) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookingReportRow> query = cb.createQuery(BookingReportRow.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Join<Booking, Show> show = booking.join("show");
+        Join<Show, Movie> movie = show.join("movie");
+
+        List<Predicate> where = predicates(cb, booking, movie, filter);
+        if (beforeId != null) {
+            where.add(cb.lessThan(booking.get("id"), beforeId));
+        }
+
+        return query.select(cb.construct(BookingReportRow.class,
+                        booking.get("id"), movie.get("title"), show.get("showTime"),
+                        booking.get("seatNo"), show.get("price"), booking.get("status")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(ascending ? cb.asc(booking.get("id")) : cb.desc(booking.get("id")));
+    }
+
+    static List<Predicate> predicates(CriteriaBuilder cb, Root<Booking> booking, Join<Show, Movie> movie,
+                                      BookingReportFilter filter) {
+        List<Predicate> where = new ArrayList<>();
+        if (filter.startDate() != null) {
+            where.add(cb.greaterThanOrEqualTo(booking.get("bookingTime"), filter.startDate().atStartOfDay()));
+        }
+        if (filter.endDate() != null) {
+            LocalDateTime endExclusive = filter.endDate().plusDays(1).atStartOfDay();
+            where.add(cb.lessThan(booking.get("bookingTime"), endExclusive));
+        }
+        if (filter.movie() != null && !filter.movie().isBlank()) {
+            where.add(cb.equal(cb.lower(movie.get("title")), filter.movie().toLowerCase()));
+        }
+        if (filter.status() != null) {
+            where.add(cb.equal(booking.get("status"), filter.status()));
+        }
+        return where;
+    }
+}
@@ -1,10 +1,47 @@
 package com.hamrochalchitraghar.system.repository;
 
+import com.hamrochalchitraghar.system.dto.BookingTotalsRow;
 import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.enums.BookingChannel;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingReportRepository {
+    // Associations are lazy; each view fetches what it renders in the same select
+    @EntityGraph(attributePaths = {"show", "show.movie"})
     List<Booking> findByCustomerId(Long customerId);
+
     List<Booking> findByShowId(Long showId);
+
+    @EntityGraph(attributePaths = {"show", "show.movie"})
+    List<Booking> findByChannel(BookingChannel channel);
+
+    // Ticket printing, confirmation and cancellation
+    @EntityGraph(attributePaths = {"show", "show.movie", "customer"})
+    Optional<Booking> findWithShowById(Long id);
+
+    // Bookings made before booking_seats existed, walked in id order by BookingSeatBackfill
+    @Query("SELECT b FROM Booking b WHERE b.id > :afterId " +
+            "AND NOT EXISTS (SELECT 1 FROM BookingSeat bs WHERE bs.booking = b) ORDER BY b.id")
+    List<Booking> findWithoutSeatsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select b.customer.id, count(b) from Booking b where b.customer is not null group by b.customer.id")
+    List<Object[]> countPerCustomer();
+
+    // One row per booked seat, so seats and revenue are plain counts and sums
+    @Query("""
+            select new com.hamrochalchitraghar.system.dto.BookingTotalsRow(
+                s.id, m.title, cast(b.bookingTime as LocalDate), count(distinct b), count(bs), sum(s.price))
+            from Booking b join b.seats bs join b.show s join s.movie m
+            where b.status <> :excluded
+            group by s.id, m.title, cast(b.bookingTime as LocalDate)
+            """)
+    List<BookingTotalsRow> sumByShowAndDay(@Param("excluded") BookingStatus excluded);
 }
@@ -0,0 +1,19 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.model.BookingRequestKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface BookingRequestKeyRepository extends JpaRepository<BookingRequestKey, Long> {
+
+    Optional<BookingRequestKey> findByRequestKey(String requestKey);
+
+    @Modifying
+    @Query("DELETE FROM BookingRequestKey k WHERE k.createdAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
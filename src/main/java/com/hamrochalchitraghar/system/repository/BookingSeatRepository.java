@@ -0,0 +1,16 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.model.BookingSeat;
+import com.hamrochalchitraghar.system.model.Seat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface BookingSeatRepository extends JpaRepository<BookingSeat, Long> {
+
+    // Served by the booking_id column of uk_booking_seats_booking_seat
+    @Query("SELECT bs.seat FROM BookingSeat bs WHERE bs.booking.id = :bookingId")
+    List<Seat> findSeatsByBookingId(@Param("bookingId") Long bookingId);
+}
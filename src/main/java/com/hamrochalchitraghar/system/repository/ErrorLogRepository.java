@@ -1,6 +1,38 @@
 package com.hamrochalchitraghar.system.repository;
 
+import com.hamrochalchitraghar.system.dto.ErrorLogHourRow;
 import com.hamrochalchitraghar.system.model.ErrorLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {}
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ErrorLogRepository extends JpaRepository<ErrorLog, Long> {
+
+    // Newest first, keyset on id (ids grow with time); served by the primary key or (source, ...) index
+    @Query("SELECT e FROM ErrorLog e WHERE (:source IS NULL OR e.source = :source) " +
+            "AND (:beforeId IS NULL OR e.id < :beforeId) ORDER BY e.id DESC")
+    List<ErrorLog> findPage(@Param("source") String source, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    @Query("SELECT DISTINCT e.source FROM ErrorLog e WHERE e.source IS NOT NULL ORDER BY e.source")
+    List<String> findSources();
+
+    @Query("SELECT COALESCE(SUM(e.occurrences), 0) FROM ErrorLog e WHERE e.source = :source " +
+            "AND (:since IS NULL OR e.timestamp >= :since)")
+    long sumOccurrences(@Param("source") String source, @Param("since") LocalDateTime since);
+
+    @Query("""
+            SELECT new com.hamrochalchitraghar.system.dto.ErrorLogHourRow(
+                cast(e.timestamp as LocalDate), extract(hour from e.timestamp), e.source, SUM(e.occurrences))
+            FROM ErrorLog e
+            WHERE (:from IS NULL OR e.timestamp >= :from) AND e.timestamp < :until
+            GROUP BY cast(e.timestamp as LocalDate), extract(hour from e.timestamp), e.source
+            """)
+    List<ErrorLogHourRow> countPerHour(@Param("from") LocalDateTime from, @Param("until") LocalDateTime until);
+
+    @Query("SELECT e.id FROM ErrorLog e WHERE e.timestamp < :cutoff ORDER BY e.id")
+    List<Long> findIdsOlderThan(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
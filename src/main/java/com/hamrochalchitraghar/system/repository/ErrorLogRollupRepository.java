@@ -0,0 +1,17 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.model.ErrorLogRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface ErrorLogRollupRepository extends JpaRepository<ErrorLogRollup, Long> {
+
+    @Query("SELECT MAX(r.periodStart) FROM ErrorLogRollup r")
+    LocalDateTime findLatestPeriod();
+
+    @Query("SELECT COALESCE(SUM(r.occurrences), 0) FROM ErrorLogRollup r WHERE r.source = :source")
+    long sumOccurrences(@Param("source") String source);
+}
@@ -0,0 +1,10 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.model.HallLayout;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface HallLayoutRepository extends JpaRepository<HallLayout, Long> {
+    Optional<HallLayout> findByHallNo(int hallNo);
+}
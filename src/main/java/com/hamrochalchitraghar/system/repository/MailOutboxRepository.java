@@ -0,0 +1,25 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.model.MailOutbox;
+import com.hamrochalchitraghar.system.model.enums.MailStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // FOR UPDATE SKIP LOCKED: concurrent dispatchers (threads or nodes) never claim the same row
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutbox m WHERE m.status = :status AND m.nextAttemptAt <= :now ORDER BY m.id")
+    List<MailOutbox> findDueForUpdate(@Param("status") MailStatus status, @Param("now") LocalDateTime now,
+                                      Pageable pageable);
+}
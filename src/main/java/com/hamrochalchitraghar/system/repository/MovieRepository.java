@@ -1,10 +1,35 @@
 package com.hamrochalchitraghar.system.repository;
 
+import com.hamrochalchitraghar.system.dto.MovieSummary;
 import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.enums.MovieStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
+import java.util.Optional;
 
 public interface MovieRepository extends JpaRepository<Movie, Long> {
     List<Movie> findByGenre(String genre);
     List<Movie> findByStatus(com.hamrochalchitraghar.system.model.enums.MovieStatus status);
+
+    @Query("select coalesce(max(m.duration), 0) from Movie m")
+    int findMaxDuration();
+
+    // Movies without a status predate MovieStatus and are listed as showing
+    @Query("""
+            select new com.hamrochalchitraghar.system.dto.MovieSummary(m.id, m.title, m.genre, m.duration, m.language, m.posterUrl)
+            from Movie m
+            where m.status = :status or m.status is null
+            order by m.title
+            """)
+    List<MovieSummary> findSummariesByStatus(@Param("status") MovieStatus status);
+
+    @Query("""
+            select new com.hamrochalchitraghar.system.dto.MovieSummary(m.id, m.title, m.genre, m.duration, m.language, m.posterUrl)
+            from Movie m
+            where m.id = :id
+            """)
+    Optional<MovieSummary> findSummaryById(@Param("id") Long id);
 }
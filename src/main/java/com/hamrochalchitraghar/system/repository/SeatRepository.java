@@ -2,13 +2,12 @@ package com.hamrochalchitraghar.system.repository;
 
 import com.hamrochalchitraghar.system.model.Seat;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import jakarta.persistence.LockModeType;
-
-import java.util.Arrays;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface SeatRepository extends JpaRepository<Seat, Long> {
@@ -16,10 +15,26 @@ public interface SeatRepository extends JpaRepository<Seat, Long> {
     @Query("SELECT s FROM Seat s WHERE s.show.id = :showId AND s.booked = false")
     List<Seat> findByShowIdAndBookedFalse(@Param("showId") Long showId);
 
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT s FROM Seat s WHERE s.show.id = :showId AND s.seatNo IN :seatNumbers")
-    List<Seat> findSeatsForUpdate(@Param("showId") Long showId, @Param("seatNumbers") List<String> seatNumbers);
+    List<Seat> findByShowIdAndSeatNoIn(@Param("showId") Long showId, @Param("seatNumbers") Collection<String> seatNumbers);
 
     List<Seat> findByShowId(Long showId);
 
+    @Modifying
+    @Query("UPDATE Seat s SET s.lockedBy = :holder, s.lockedAt = :lockedAt " +
+            "WHERE s.show.id = :showId AND s.seatNo IN :seatNumbers AND s.booked = false")
+    int holdSeats(@Param("showId") Long showId, @Param("seatNumbers") Collection<String> seatNumbers,
+                  @Param("holder") String holder, @Param("lockedAt") LocalDateTime lockedAt);
+
+    @Modifying
+    @Query("UPDATE Seat s SET s.lockedBy = null, s.lockedAt = null " +
+            "WHERE s.show.id = :showId AND s.seatNo IN :seatNumbers AND s.lockedBy = :holder AND s.booked = false")
+    int releaseSeats(@Param("showId") Long showId, @Param("seatNumbers") Collection<String> seatNumbers,
+                     @Param("holder") String holder);
+
+    // Set-based expiry; served by idx_seats_booked_locked_at so only expiring rows are touched
+    @Modifying
+    @Query("UPDATE Seat s SET s.lockedBy = null, s.lockedAt = null WHERE s.booked = false AND s.lockedAt < :cutoff")
+    int releaseLocksOlderThan(@Param("cutoff") LocalDateTime cutoff);
+
 }
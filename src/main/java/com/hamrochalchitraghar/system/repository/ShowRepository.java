@@ -1,11 +1,54 @@
 package com.hamrochalchitraghar.system.repository;
 
+import com.hamrochalchitraghar.system.dto.HallOccupancy;
+import com.hamrochalchitraghar.system.dto.ScheduledShow;
 import com.hamrochalchitraghar.system.model.Show;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ShowRepository extends JpaRepository<Show, Long> {
     List<Show> findByMovieId(Long movieId);
     List<Show> findByShowTimeBetween(LocalDateTime start, LocalDateTime end);
+
+    @Query("select s.id from Show s where s.id in :ids and s.showTime < :time")
+    List<Long> findIdsStartedBefore(@Param("ids") Collection<Long> ids, @Param("time") LocalDateTime time);
+
+    @EntityGraph(attributePaths = "movie")
+    Optional<Show> findWithMovieById(Long id);
+
+    // Booked/total seat counts per show in one grouped query; all shows when from is null
+    @Query("""
+            select new com.hamrochalchitraghar.system.dto.HallOccupancy(
+                s.id, s.hallNo, m.title, s.showTime, m.duration,
+                coalesce(sum(case when seat.booked = true then 1 else 0 end), 0), count(seat))
+            from Show s join s.movie m left join s.seats seat
+            where :from is null or s.showTime >= :from
+            group by s.id, s.hallNo, m.title, s.showTime, m.duration
+            order by s.showTime
+            """)
+    List<HallOccupancy> findOccupancy(@Param("from") LocalDateTime from);
+
+    // Shows starting in [start, end) with their movie title, served by idx_shows_show_time
+    @Query("""
+            select new com.hamrochalchitraghar.system.dto.ScheduledShow(s.id, m.title, s.hallNo, s.showTime, s.price)
+            from Show s join s.movie m
+            where s.showTime >= :start and s.showTime < :end
+            order by s.showTime
+            """)
+    List<ScheduledShow> findSchedule(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("""
+            select new com.hamrochalchitraghar.system.dto.ScheduledShow(s.id, m.title, s.hallNo, s.showTime, s.price)
+            from Show s join s.movie m
+            where m.id = :movieId
+            order by s.showTime
+            """)
+    List<ScheduledShow> findScheduleByMovieId(@Param("movieId") Long movieId);
 }
@@ -0,0 +1,32 @@
+package com.hamrochalchitraghar.system.scheduler;
+
+import com.hamrochalchitraghar.system.service.ErrorLogRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class ErrorLogRetentionScheduler {
+
+    private final ErrorLogRollupService rollupService;
+
+    /**
+     * Runs a few minutes past every hour, once the previous hour's dedupe windows have closed:
+     * roll up first, then purge, so no purged row goes uncounted.
+     */
+    @Scheduled(cron = "0 5 * * * *")
+    public void rollUpAndPurge() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        int groups = rollupService.rollUp(now);
+        int purged = rollupService.purge(now);
+
+        long tookMs = (System.nanoTime() - started) / 1_000_000;
+        System.out.println("🧹 Error logs: " + groups + " hourly rollup(s), " + purged + " old row(s) purged in "
+                + tookMs + " ms");
+    }
+}
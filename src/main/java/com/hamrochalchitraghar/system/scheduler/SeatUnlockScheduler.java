@@ -1,35 +1,79 @@
 package com.hamrochalchitraghar.system.scheduler;
 
-import com.hamrochalchitraghar.system.model.Seat;
+import com.hamrochalchitraghar.system.config.SeatHoldProperties;
+import com.hamrochalchitraghar.system.config.SeatMapProperties;
+import com.hamrochalchitraghar.system.event.SeatStateChangedEvent;
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
 import com.hamrochalchitraghar.system.repository.SeatRepository;
+import com.hamrochalchitraghar.system.repository.ShowRepository;
+import com.hamrochalchitraghar.system.service.SeatBroadcastService;
+import com.hamrochalchitraghar.system.service.SeatStateService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
 public class SeatUnlockScheduler {
 
     private final SeatRepository seatRepository;
+    private final SeatStateService seatStateService;
+    private final SeatHoldProperties holdProperties;
+    private final ShowRepository showRepository;
+    private final SeatMapProperties mapProperties;
+    private final SeatBroadcastService seatBroadcastService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    // Runs every minute
+    /**
+     * Releases seat holds past their TTL every minute with one indexed bulk update plus
+     * the in-memory expiry queue; neither scans seats that are not expiring.
+     */
     @Scheduled(fixedRate = 60000)
+    @Transactional
     public void unlockExpiredSeats() {
-        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(2);
-        List<Seat> lockedSeats = seatRepository.findAll().stream()
-                .filter(s -> !s.isBooked() && s.getLockedAt() != null && s.getLockedAt().isBefore(cutoff))
-                .toList();
-
-        if (!lockedSeats.isEmpty()) {
-            lockedSeats.forEach(seat -> {
-                seat.setLockedAt(null);
-                seat.setLockedBy(null);
-            });
-            seatRepository.saveAll(lockedSeats);
-            System.out.println("🔓 Auto-unlocked expired seats: " + lockedSeats.size());
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        int releasedInDb = seatRepository.releaseLocksOlderThan(now.minus(holdProperties.ttl()));
+        Map<Long, List<String>> expired = seatStateService.expireHolds(now);
+        expired.forEach((showId, seatNumbers) ->
+                eventPublisher.publishEvent(new SeatStateChangedEvent(showId, seatNumbers, SeatStatus.AVAILABLE)));
+        int releasedInMemory = expired.values().stream().mapToInt(List::size).sum();
+
+        long tookMs = (System.nanoTime() - started) / 1_000_000;
+        System.out.println("🔓 Auto-unlocked expired seats: " + releasedInDb
+                + " (in memory: " + releasedInMemory + ") in " + tookMs + " ms");
+    }
+
+    /**
+     * Drops the in-memory seat maps of shows that have started and of shows nobody
+     * accessed within the idle timeout; they reload from the database when next used.
+     * Broadcast channels (retained frames) are kept only for shows whose map is loaded.
+     */
+    @Scheduled(fixedRate = 60000)
+    public void evictSeatMaps() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> loaded = seatStateService.loadedShowIds();
+
+        List<Long> evicted = new ArrayList<>();
+        if (!loaded.isEmpty()) {
+            for (Long showId : showRepository.findIdsStartedBefore(loaded, now)) {
+                if (seatStateService.evict(showId)) evicted.add(showId);
+            }
+            evicted.addAll(seatStateService.evictIdle(now.minus(mapProperties.idleTimeout())));
+        }
+        int channelsDropped = seatBroadcastService.retainChannels(seatStateService.loadedShowIds());
+        if (!evicted.isEmpty() || channelsDropped > 0) {
+            System.out.println("🧹 Dropped seat maps of " + evicted.size() + " show(s) and "
+                    + channelsDropped + " broadcast channel(s); " + (loaded.size() - evicted.size()) + " still loaded");
         }
     }
 }
@@ -0,0 +1,66 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.BookingReportRow;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Booking report exports. Rows are pulled from a database cursor and written through
+ * a streaming workbook that keeps only a small window of rows in memory (older rows
+ * are flushed to a temp file), so heap use does not grow with the size of the report.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingReportService {
+
+    private static final String[] COLUMNS = {"ID", "Movie", "Show Time", "Seats", "Price", "Status"};
+    private static final int ROW_WINDOW = 100;
+
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Writes the bookings matching {@code filter} as an .xlsx workbook to {@code out}.
+     *
+     * @return number of booking rows written
+     */
+    @Transactional(readOnly = true)
+    public long exportExcel(BookingReportFilter filter, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        // close() also deletes the temp file holding flushed rows
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+             Stream<BookingReportRow> rows = bookingRepository.streamReport(filter)) {
+            workbook.setCompressTempFiles(true);
+            Sheet sheet = workbook.createSheet("Bookings");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < COLUMNS.length; i++) header.createCell(i).setCellValue(COLUMNS[i]);
+
+            int rowIdx = 1;
+            Iterator<BookingReportRow> it = rows.iterator();
+            while (it.hasNext()) {
+                BookingReportRow b = it.next();
+                Row row = sheet.createRow(rowIdx++);
+                row.createCell(0).setCellValue(b.id());
+                row.createCell(1).setCellValue(b.movie());
+                row.createCell(2).setCellValue(b.showTime() != null ? b.showTime().toString() : "");
+                row.createCell(3).setCellValue(b.seatNo());
+                row.createCell(4).setCellValue(b.price() != null ? b.price() : 0);
+                row.createCell(5).setCellValue(b.status() != null ? b.status().name() : "");
+            }
+
+            workbook.write(out);
+            System.out.println("📄 Exported " + (rowIdx - 1) + " booking row(s) in " + (System.currentTimeMillis() - start) + " ms");
+            return rowIdx - 1;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.BookingSeat;
+import com.hamrochalchitraghar.system.model.Seat;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import com.hamrochalchitraghar.system.repository.BookingSeatRepository;
+import com.hamrochalchitraghar.system.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Links bookings made before booking_seats existed to their seats, by parsing the old
+ * comma-separated seat label once. Runs at startup in batches of its own transaction;
+ * once every booking is linked it costs a single empty query.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingSeatBackfill implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final BookingRepository bookingRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final SeatRepository seatRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long afterId = 0;
+        int bookings = 0;
+        int seats = 0;
+        while (true) {
+            long from = afterId;
+            Batch batch = transactionTemplate.execute(status -> linkBatch(from));
+            if (batch == null || batch.bookings() == 0) break;
+            afterId = batch.lastId();
+            bookings += batch.bookings();
+            seats += batch.seats();
+        }
+        if (bookings > 0) {
+            System.out.println("💺 Linked " + seats + " seat(s) for " + bookings + " existing booking(s)");
+        }
+    }
+
+    private Batch linkBatch(long afterId) {
+        List<Booking> batch = bookingRepository.findWithoutSeatsAfter(afterId, PageRequest.of(0, BATCH_SIZE));
+        if (batch.isEmpty()) return new Batch(afterId, 0, 0);
+
+        List<BookingSeat> links = new ArrayList<>();
+        for (Booking booking : batch) {
+            if (booking.getSeatNo() == null || booking.getShow() == null) continue;
+            List<String> seatNumbers = Arrays.stream(booking.getSeatNo().split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .toList();
+            for (Seat seat : seatRepository.findByShowIdAndSeatNoIn(booking.getShow().getId(), seatNumbers)) {
+                links.add(BookingSeat.builder().booking(booking).seat(seat).build());
+            }
+        }
+        bookingSeatRepository.saveAll(links);
+        return new Batch(batch.get(batch.size() - 1).getId(), batch.size(), links.size());
+    }
+
+    private record Batch(long lastId, int bookings, int seats) {
+    }
+}
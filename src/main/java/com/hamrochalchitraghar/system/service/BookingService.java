@@ -1,5 +1,6 @@
 package com.hamrochalchitraghar.system.service;
 
+import com.hamrochalchitraghar.system.dto.SeatHold;
 import com.hamrochalchitraghar.system.model.*;
 import com.hamrochalchitraghar.system.model.enums.BookingChannel;
 import java.util.List;
@@ -9,8 +10,26 @@ public interface BookingService {
     // Fetch all available seats for a specific show
     List<Seat> getAvailableSeats(Long showId);
 
-    // Book seats for a customer (online or box office)
-    Booking bookSeats(Long customerId, Long showId, List<String> seatNumbers, BookingChannel channel);
+    // Place or renew a hold on seats for one seat-page session
+    SeatHold holdSeats(Long showId, List<String> seatNumbers, String holder);
+
+    // Release seats held by a seat-page session
+    void releaseSeats(Long showId, List<String> seatNumbers, String holder);
+
+    // Book seats for a customer (online or box office); seats held by the holder are accepted.
+    // A non-null request key is stored with the booking and may only ever book once.
+    Booking bookSeats(Long customerId, Long showId, List<String> seatNumbers, BookingChannel channel, String holder,
+                      String requestKey);
+
+    // Book seats without a request key
+    default Booking bookSeats(Long customerId, Long showId, List<String> seatNumbers, BookingChannel channel, String holder) {
+        return bookSeats(customerId, showId, seatNumbers, channel, holder, null);
+    }
+
+    // Book seats for a customer without a prior hold
+    default Booking bookSeats(Long customerId, Long showId, List<String> seatNumbers, BookingChannel channel) {
+        return bookSeats(customerId, showId, seatNumbers, channel, null);
+    }
 
     // Cancel an existing booking
     void cancelBooking(Long bookingId);
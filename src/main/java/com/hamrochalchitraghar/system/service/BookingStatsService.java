@@ -0,0 +1,175 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.dto.BookingTotals;
+import com.hamrochalchitraghar.system.dto.BookingTotalsRow;
+import com.hamrochalchitraghar.system.event.BookingChangedEvent;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revenue and booking totals per movie, per show and per day, kept in memory for the
+ * admin dashboard. Seeded once with a single grouped query, then moved by
+ * {@link BookingChangedEvent}s as bookings are made and cancelled, so reading them
+ * never scans the bookings table. Cancelled bookings are not counted; revenue is
+ * show price times seats booked.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingStatsService {
+
+    private final BookingRepository bookingRepository;
+
+    // Serialises loads (first seed and reconcile); never held while applying events
+    private final Object loadLock = new Object();
+
+    private volatile Aggregates aggregates;
+
+    // Events that committed while a load was running; replayed onto the loaded aggregates. Guarded by "this".
+    private List<BookingChangedEvent> missedDuringLoad;
+
+    /**
+     * Applied under the same lock as the swap after a load, so no event can land on aggregates
+     * that are about to be replaced. A booking that commits in the instant between a load starting
+     * and its query taking a snapshot is counted twice until the next reconcile.
+     */
+    @TransactionalEventListener
+    public synchronized void onBookingChanged(BookingChangedEvent event) {
+        if (missedDuringLoad != null) missedDuringLoad.add(event);
+        // Not seeded and no load running: the seed query will read the committed booking itself
+        if (aggregates != null) apply(aggregates, event);
+    }
+
+    /**
+     * Re-seeds from the database now and then, so totals also follow bookings made on other nodes.
+     */
+    @Scheduled(fixedDelay = 1_800_000, initialDelay = 1_800_000)
+    public void reconcile() {
+        if (aggregates != null) reload();
+    }
+
+    public BookingTotals totals() {
+        return aggregates().total.snapshot();
+    }
+
+    public BookingTotals showTotals(Long showId) {
+        Counter counter = aggregates().shows.get(showId);
+        return counter == null ? BookingTotals.EMPTY : counter.snapshot();
+    }
+
+    public BookingTotals dayTotals(LocalDate day) {
+        Counter counter = aggregates().days.get(day);
+        return counter == null ? BookingTotals.EMPTY : counter.snapshot();
+    }
+
+    public Map<String, BookingTotals> movieTotals() {
+        Map<String, BookingTotals> movies = new HashMap<>();
+        aggregates().movies.forEach((movie, counter) -> movies.put(movie, counter.snapshot()));
+        return movies;
+    }
+
+    /**
+     * Movies with the most active bookings, best first.
+     */
+    public LinkedHashMap<String, Long> topMovies(int limit) {
+        LinkedHashMap<String, Long> top = new LinkedHashMap<>();
+        movieTotals().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, BookingTotals> e) -> e.getValue().bookings()).reversed())
+                .limit(limit)
+                .forEach(e -> top.put(e.getKey(), e.getValue().bookings()));
+        return top;
+    }
+
+    private Aggregates aggregates() {
+        Aggregates current = aggregates;
+        return current != null ? current : seed();
+    }
+
+    private Aggregates seed() {
+        synchronized (loadLock) {
+            Aggregates current = aggregates;
+            return current != null ? current : reload();
+        }
+    }
+
+    /**
+     * Runs the grouped query without holding the event lock, then swaps in the result with every
+     * event that committed meanwhile replayed onto it.
+     */
+    private Aggregates reload() {
+        synchronized (loadLock) {
+            synchronized (this) {
+                missedDuringLoad = new ArrayList<>();
+            }
+            Aggregates fresh = null;
+            try {
+                fresh = load();
+            } finally {
+                synchronized (this) {
+                    if (fresh != null) {
+                        for (BookingChangedEvent event : missedDuringLoad) apply(fresh, event);
+                        aggregates = fresh;
+                    }
+                    missedDuringLoad = null;
+                }
+            }
+            return fresh;
+        }
+    }
+
+    private static void apply(Aggregates target, BookingChangedEvent event) {
+        int sign = event.status() == BookingStatus.CANCELLED ? -1 : 1;
+        target.add(event.showId(), event.movie(), event.day(), sign, sign * event.seats(), sign * event.revenue());
+    }
+
+    private Aggregates load() {
+        long start = System.currentTimeMillis();
+        Aggregates fresh = new Aggregates();
+        List<BookingTotalsRow> rows = bookingRepository.sumByShowAndDay(BookingStatus.CANCELLED);
+        for (BookingTotalsRow row : rows) {
+            fresh.add(row.showId(), row.movie(), row.day(), row.bookings(), row.seats(), row.revenue());
+        }
+        System.out.println("📊 Booking aggregates loaded from " + rows.size() + " group(s) in "
+                + (System.currentTimeMillis() - start) + " ms");
+        return fresh;
+    }
+
+    private static final class Aggregates {
+        private final Counter total = new Counter();
+        private final Map<String, Counter> movies = new ConcurrentHashMap<>();
+        private final Map<Long, Counter> shows = new ConcurrentHashMap<>();
+        private final Map<LocalDate, Counter> days = new ConcurrentHashMap<>();
+
+        void add(Long showId, String movie, LocalDate day, long bookings, long seats, double revenue) {
+            total.add(bookings, seats, revenue);
+            movies.computeIfAbsent(movie, k -> new Counter()).add(bookings, seats, revenue);
+            shows.computeIfAbsent(showId, k -> new Counter()).add(bookings, seats, revenue);
+            days.computeIfAbsent(day, k -> new Counter()).add(bookings, seats, revenue);
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder bookings = new LongAdder();
+        private final LongAdder seats = new LongAdder();
+        private final DoubleAdder revenue = new DoubleAdder();
+
+        void add(long bookingDelta, long seatDelta, double revenueDelta) {
+            bookings.add(bookingDelta);
+            seats.add(seatDelta);
+            revenue.add(revenueDelta);
+        }
+
+        BookingTotals snapshot() {
+            return new BookingTotals(bookings.sum(), seats.sum(), revenue.sum());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.CacheConfig;
+import com.hamrochalchitraghar.system.dto.MovieSummary;
+import com.hamrochalchitraghar.system.dto.ScheduledShow;
+import com.hamrochalchitraghar.system.event.CatalogueChangedEvent;
+import com.hamrochalchitraghar.system.model.enums.MovieStatus;
+import com.hamrochalchitraghar.system.repository.MovieRepository;
+import com.hamrochalchitraghar.system.repository.ShowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Read-through cache of the movie catalogue and show listings for the customer pages.
+ * Entries are dropped as soon as a movie or show change commits.
+ */
+@Service
+@RequiredArgsConstructor
+public class CatalogueService {
+
+    private final MovieRepository movieRepository;
+    private final ShowRepository showRepository;
+
+    /**
+     * Movies currently showing; movies without a status (older data) are treated as showing.
+     */
+    @Cacheable(CacheConfig.NOW_SHOWING)
+    public List<MovieSummary> getNowShowing() {
+        return movieRepository.findSummariesByStatus(MovieStatus.NOW_SHOWING);
+    }
+
+    @Cacheable(CacheConfig.MOVIES)
+    public MovieSummary getMovie(Long movieId) {
+        return movieRepository.findSummaryById(movieId)
+                .orElseThrow(() -> new RuntimeException("Movie not found"));
+    }
+
+    @Cacheable(CacheConfig.MOVIE_SHOWS)
+    public List<ScheduledShow> getShows(Long movieId) {
+        return showRepository.findScheduleByMovieId(movieId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Caching(evict = {
+            @CacheEvict(value = CacheConfig.NOW_SHOWING, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIES, allEntries = true),
+            @CacheEvict(value = CacheConfig.MOVIE_SHOWS, allEntries = true)
+    })
+    public void onCatalogueChanged(CatalogueChangedEvent event) {
+        System.out.println("🎬 Catalogue cache cleared after " + event.type().getSimpleName() + " change");
+    }
+}
@@ -0,0 +1,175 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.MailOutboxProperties;
+import com.hamrochalchitraghar.system.model.MailOutbox;
+import com.hamrochalchitraghar.system.model.enums.MailStatus;
+import com.hamrochalchitraghar.system.repository.MailOutboxRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the mail outbox off the request path. Each worker claims a batch of
+ * due rows, sends them in one JavaMailSender call (one SMTP connection per
+ * batch) and records the outcome; failures are retried with exponential backoff.
+ */
+@Service
+public class EmailOutboxDispatcher {
+
+    private final MailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final ErrorLogService errorLogService;
+    private final MailOutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor mailExecutor;
+
+    private final Semaphore workers;
+
+    public EmailOutboxDispatcher(MailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 ErrorLogService errorLogService,
+                                 MailOutboxProperties properties,
+                                 TransactionTemplate transactionTemplate,
+                                 @Qualifier("mailExecutor") TaskExecutor mailExecutor) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.errorLogService = errorLogService;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.mailExecutor = mailExecutor;
+        this.workers = new Semaphore(properties.workers());
+    }
+
+    /**
+     * Starts a worker if one is free; called after a booking commits.
+     * When all workers are busy the running ones will pick the new rows up.
+     */
+    public void wakeUp() {
+        if (!workers.tryAcquire()) return;
+        try {
+            mailExecutor.execute(() -> {
+                try {
+                    while (dispatchBatch() > 0) {
+                        // keep draining while there is work
+                    }
+                } finally {
+                    workers.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            workers.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Safety net for retries that became due and rows left behind by a restart.
+     */
+    @Scheduled(fixedDelay = 30000)
+    public void pollDue() {
+        wakeUp();
+    }
+
+    /**
+     * Claims, sends and settles one batch.
+     *
+     * @return number of messages claimed (0 when the outbox has nothing due)
+     */
+    public int dispatchBatch() {
+        List<MailOutbox> batch = transactionTemplate.execute(status -> claimDue());
+        if (batch == null || batch.isEmpty()) return 0;
+
+        Map<Long, Exception> failures = send(batch);
+        transactionTemplate.executeWithoutResult(status -> settle(batch, failures));
+        return batch.size();
+    }
+
+    /**
+     * Locks due rows (skipping rows other workers hold) and pushes their next
+     * attempt past the lease so nobody else claims them while they are in flight.
+     */
+    private List<MailOutbox> claimDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutbox> due = outboxRepository.findDueForUpdate(MailStatus.PENDING, now,
+                PageRequest.of(0, properties.batchSize()));
+        for (MailOutbox mail : due) {
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setNextAttemptAt(now.plus(properties.lease()));
+        }
+        return outboxRepository.saveAll(due);
+    }
+
+    private Map<Long, Exception> send(List<MailOutbox> batch) {
+        Map<SimpleMailMessage, Long> ids = new IdentityHashMap<>();
+        for (MailOutbox mail : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(mail.getRecipient());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            ids.put(message, mail.getId());
+        }
+
+        Map<Long, Exception> failures = new HashMap<>();
+        try {
+            mailSender.send(ids.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // Per-message failures; everything not listed went out
+            e.getFailedMessages().forEach((message, cause) -> failures.put(ids.get(message), cause));
+            if (failures.isEmpty()) ids.values().forEach(id -> failures.put(id, e));
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e));
+        }
+        return failures;
+    }
+
+    private void settle(List<MailOutbox> batch, Map<Long, Exception> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        for (MailOutbox mail : batch) {
+            Exception failure = failures.get(mail.getId());
+            if (failure == null) {
+                mail.setStatus(MailStatus.SENT);
+                mail.setSentAt(now);
+                mail.setLastError(null);
+                System.out.println("✅ Email sent successfully to " + mail.getRecipient());
+            } else if (mail.getAttempts() >= properties.maxAttempts()) {
+                mail.setStatus(MailStatus.FAILED);
+                mail.setLastError(truncate(failure.getMessage()));
+                errorLogService.logError("EmailService",
+                        "Failed to send booking confirmation email (Booking ID: " + mail.getBookingId()
+                                + ") after " + mail.getAttempts() + " attempts | " + failure.getMessage(),
+                        null);
+            } else {
+                mail.setNextAttemptAt(now.plus(backoff(mail.getAttempts())));
+                mail.setLastError(truncate(failure.getMessage()));
+                System.err.println("⚠️ Email to " + mail.getRecipient() + " failed, retry #" + mail.getAttempts()
+                        + " at " + mail.getNextAttemptAt());
+            }
+        }
+        outboxRepository.saveAll(batch);
+    }
+
+    /**
+     * initialBackoff * 2^(attempts-1), capped at maxBackoff.
+     */
+    Duration backoff(int attempts) {
+        Duration delay = properties.initialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : delay;
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
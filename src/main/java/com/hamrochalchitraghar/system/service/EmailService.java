@@ -1,86 +1,94 @@
 package com.hamrochalchitraghar.system.service;
 
 import com.hamrochalchitraghar.system.model.Booking;
-import com.hamrochalchitraghar.system.model.ErrorLog;
-import com.hamrochalchitraghar.system.repository.ErrorLogRepository;
+import com.hamrochalchitraghar.system.model.MailOutbox;
+import com.hamrochalchitraghar.system.model.enums.MailStatus;
+import com.hamrochalchitraghar.system.repository.MailOutboxRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 
 /**
- * Handles outgoing booking confirmation emails and logs any errors to ErrorLog.
+ * Queues booking confirmation emails in the mail outbox and logs any errors to ErrorLog.
+ * Delivery happens after commit in EmailOutboxDispatcher, never on the booking thread.
  */
 @Service
 @RequiredArgsConstructor
 public class EmailService {
 
-    private final JavaMailSender mailSender;
-    private final ErrorLogRepository errorLogRepository;
+    private final MailOutboxRepository mailOutboxRepository;
+    private final EmailOutboxDispatcher emailOutboxDispatcher;
+    private final ErrorLogService errorLogService;
 
     /**
-     * Sends a confirmation email to the customer after booking.
-     * Logs every error for admin visibility in the ErrorLog table.
+     * Writes the confirmation email for a booking to the outbox, in the caller's transaction,
+     * and wakes the dispatcher once that transaction commits.
      */
-    public void sendBookingConfirmation(Booking booking) {
-        try {
-            if (booking.getCustomer() == null || booking.getCustomer().getEmail() == null || booking.getCustomer().getEmail().isBlank()) {
-                logError("EmailService", "No valid email for customer (Booking ID: " + booking.getId() + ")", null);
-                return;
-            }
-
-            String to = booking.getCustomer().getEmail();
-            String subject = "🎟️ Hamro Chalchitraghar Ticket Confirmation";
+    public void queueBookingConfirmation(Booking booking) {
+        if (booking.getCustomer() == null || booking.getCustomer().getEmail() == null || booking.getCustomer().getEmail().isBlank()) {
+            logError("EmailService", "No valid email for customer (Booking ID: " + booking.getId() + ")", null);
+            return;
+        }
 
-            String body = """
-                    Dear %s,
+        String to = booking.getCustomer().getEmail();
+        String subject = "🎟️ Hamro Chalchitraghar Ticket Confirmation";
 
-                    Your booking has been successfully confirmed!
+        String body = """
+                Dear %s,
 
-                    🎬 Movie: %s
-                    🕒 Show Time: %s
-                    🏛️ Hall: %s
-                    💺 Seats: %s
-                    🧾 Booking ID: %d
+                Your booking has been successfully confirmed!
 
-                    Thank you for choosing Hamro Chalchitraghar.
-                    Enjoy your movie!
-                    """.formatted(
-                    booking.getCustomer().getName(),
-                    booking.getShow().getMovie().getTitle(),
-                    booking.getShow().getShowTime(),
-                    booking.getShow().getHallNo(),
-                    booking.getSeatNo(),
-                    booking.getId()
-            );
+                🎬 Movie: %s
+                🕒 Show Time: %s
+                🏛️ Hall: %s
+                💺 Seats: %s
+                🧾 Booking ID: %d
 
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
+                Thank you for choosing Hamro Chalchitraghar.
+                Enjoy your movie!
+                """.formatted(
+                booking.getCustomer().getName(),
+                booking.getShow().getMovie().getTitle(),
+                booking.getShow().getShowTime(),
+                booking.getShow().getHallNo(),
+                booking.getSeatNo(),
+                booking.getId()
+        );
 
-            System.out.println("✅ Email sent successfully to " + to);
+        LocalDateTime now = LocalDateTime.now();
+        mailOutboxRepository.save(MailOutbox.builder()
+                .bookingId(booking.getId())
+                .recipient(to)
+                .subject(subject)
+                .body(body)
+                .status(MailStatus.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build());
 
-        } catch (Exception e) {
-            logError("EmailService", "Failed to send booking confirmation email", e);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    emailOutboxDispatcher.wakeUp();
+                }
+            });
+        } else {
+            emailOutboxDispatcher.wakeUp();
         }
     }
 
     /**
-     * Centralized error logger for email sending failures.
+     * Centralized error logger for email failures.
      * Ensures consistency with BookingServiceImpl log structure.
      */
     private void logError(String source, String message, Exception e) {
-        ErrorLog log = ErrorLog.builder()
-                .source(source)
-                .message(message + (e != null ? " | " + e.getMessage() : ""))
-                .stackTrace(e != null ? getStackTraceSnippet(e) : null)
-                .timestamp(LocalDateTime.now())
-                .build();
-        errorLogRepository.save(log);
+        errorLogService.logError(source,
+                message + (e != null ? " | " + e.getMessage() : ""),
+                e != null ? getStackTraceSnippet(e) : null);
         System.err.println("⚠️ Logged email error: " + message);
     }
 
@@ -0,0 +1,75 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.ErrorLogProperties;
+import com.hamrochalchitraghar.system.dto.ErrorLogHourRow;
+import com.hamrochalchitraghar.system.model.ErrorLogRollup;
+import com.hamrochalchitraghar.system.repository.ErrorLogRepository;
+import com.hamrochalchitraghar.system.repository.ErrorLogRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Hourly error counts per source, and retention of the raw error rows. Completed hours are
+ * rolled up before old rows are purged, so totals survive the purge; the open hours since
+ * the last rollup are counted live from the timestamp index.
+ */
+@Service
+@RequiredArgsConstructor
+public class ErrorLogRollupService {
+
+    private final ErrorLogRepository errorLogRepository;
+    private final ErrorLogRollupRepository rollupRepository;
+    private final ErrorLogProperties properties;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Counts every completed hour after the last rolled-up one, with a single grouped query.
+     */
+    @Transactional
+    public int rollUp(LocalDateTime now) {
+        LocalDateTime until = now.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime latest = rollupRepository.findLatestPeriod();
+        LocalDateTime from = latest == null ? null : latest.plusHours(1);
+        if (from != null && !from.isBefore(until)) return 0;
+
+        List<ErrorLogHourRow> rows = errorLogRepository.countPerHour(from, until);
+        rollupRepository.saveAll(rows.stream()
+                .map(row -> ErrorLogRollup.builder()
+                        .periodStart(row.day().atTime(row.hour(), 0))
+                        .source(row.source())
+                        .occurrences(row.occurrences())
+                        .build())
+                .toList());
+        return rows.size();
+    }
+
+    /**
+     * Deletes rows past the retention period in batches, each in its own short transaction.
+     */
+    public int purge(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(properties.retention());
+        int purged = 0;
+        while (true) {
+            List<Long> ids = errorLogRepository.findIdsOlderThan(cutoff, PageRequest.of(0, properties.purgeBatchSize()));
+            if (ids.isEmpty()) return purged;
+            transactionTemplate.executeWithoutResult(status -> errorLogRepository.deleteAllByIdInBatch(ids));
+            purged += ids.size();
+        }
+    }
+
+    /**
+     * All-time error count of one source: rolled-up hours plus the rows not rolled up yet.
+     */
+    public long totalOccurrences(String source) {
+        LocalDateTime latest = rollupRepository.findLatestPeriod();
+        return rollupRepository.sumOccurrences(source)
+                + errorLogRepository.sumOccurrences(source, latest == null ? null : latest.plusHours(1));
+    }
+}
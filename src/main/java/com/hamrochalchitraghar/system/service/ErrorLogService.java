@@ -1,25 +1,181 @@
 package com.hamrochalchitraghar.system.service;
 
-import com.hamrochalchitraghar.system.model.ErrorLog;
-import com.hamrochalchitraghar.system.repository.ErrorLogRepository;
-import lombok.RequiredArgsConstructor;
+import com.hamrochalchitraghar.system.config.ErrorLogProperties;
+import com.hamrochalchitraghar.system.dto.ErrorLogStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * Single entry point for application error logs. Callers only put the error into an
+ * in-memory ring and return; a background flush writes batches in its own transaction,
+ * so logs survive the caller's rollback and an error burst does not add a write per
+ * request. Repeats of the same source and message within the dedupe window become one
+ * row with a count. When the ring is full, errors are dropped and counted.
+ */
 @Service
-@RequiredArgsConstructor
 public class ErrorLogService {
 
-    private final ErrorLogRepository errorLogRepository;
+    private static final String INSERT =
+            "INSERT INTO error_logs (source, message, stack_trace, timestamp, last_seen, occurrences) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String BUMP =
+            "UPDATE error_logs SET occurrences = occurrences + ?, last_seen = ? WHERE id = ?";
 
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ErrorLogProperties properties;
+    private final ErrorRingBuffer<Entry> buffer;
+
+    // Rows written within the dedupe window, by source and message; only used by the flushing thread
+    private final Map<Key, Window> windows = new HashMap<>();
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder merged = new LongAdder();
+
+    public ErrorLogService(JdbcTemplate jdbcTemplate,
+                           TransactionTemplate transactionTemplate,
+                           ErrorLogProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.buffer = new ErrorRingBuffer<>(properties.capacity());
+    }
+
+    /**
+     * Queues an error; never blocks and never touches the database on the caller's thread.
+     */
     public void logError(String source, String message, String stackTrace) {
-        ErrorLog log = ErrorLog.builder()
-                .source(source)
-                .message(message)
-                .stackTrace(stackTrace != null ? stackTrace.substring(0, Math.min(1000, stackTrace.length())) : null)
-                .timestamp(LocalDateTime.now())
-                .build();
-        errorLogRepository.save(log);
+        Entry entry = new Entry(truncate(source, 255), truncate(message, 1000), truncate(stackTrace, 2000),
+                LocalDateTime.now());
+        if (buffer.offer(entry)) {
+            accepted.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public synchronized void flush() {
+        List<Entry> batch;
+        while (!(batch = buffer.drain(properties.batchSize())).isEmpty()) {
+            write(batch);
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.dedupeWindow());
+        windows.values().removeIf(w -> w.firstSeen.isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    public ErrorLogStats stats() {
+        return new ErrorLogStats(accepted.sum(), dropped.sum(), written.sum(), merged.sum(), buffer.size());
+    }
+
+    private void write(List<Entry> batch) {
+        List<Window> inserts = new ArrayList<>();
+        Set<Window> bumps = new LinkedHashSet<>();
+        for (Entry entry : batch) {
+            Key key = new Key(entry.source(), entry.message());
+            Window window = windows.get(key);
+            if (window == null || window.firstSeen.plus(properties.dedupeWindow()).isBefore(entry.time())) {
+                window = new Window(entry);
+                windows.put(key, window);
+                inserts.add(window);
+            } else {
+                window.pending++;
+                window.lastSeen = entry.time();
+                if (window.id != null) bumps.add(window);
+            }
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                insert(inserts);
+                bump(bumps);
+            });
+            written.add(inserts.size());
+            merged.add(batch.size() - inserts.size());
+        } catch (RuntimeException e) {
+            dropped.add(batch.size());
+            inserts.forEach(w -> windows.remove(new Key(w.entry.source(), w.entry.message())));
+            System.err.println("⚠️ Could not write " + batch.size() + " error log(s): " + e.getMessage());
+        } finally {
+            inserts.forEach(w -> w.pending = 0);
+            bumps.forEach(w -> w.pending = 0);
+        }
+    }
+
+    private void insert(List<Window> inserts) {
+        if (inserts.isEmpty()) return;
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS)) {
+                for (Window window : inserts) {
+                    Entry entry = window.entry;
+                    ps.setString(1, entry.source());
+                    ps.setString(2, entry.message());
+                    ps.setString(3, entry.stackTrace());
+                    ps.setTimestamp(4, Timestamp.valueOf(entry.time()));
+                    ps.setTimestamp(5, Timestamp.valueOf(window.lastSeen));
+                    ps.setInt(6, 1 + window.pending);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Window window : inserts) {
+                        if (!keys.next()) break;
+                        window.id = keys.getLong(1);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private void bump(Set<Window> bumps) {
+        if (bumps.isEmpty()) return;
+        jdbcTemplate.batchUpdate(BUMP, new ArrayList<>(bumps), bumps.size(), (ps, window) -> {
+            ps.setInt(1, window.pending);
+            ps.setTimestamp(2, Timestamp.valueOf(window.lastSeen));
+            ps.setLong(3, window.id);
+        });
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+
+    private record Entry(String source, String message, String stackTrace, LocalDateTime time) {
+    }
+
+    private record Key(String source, String message) {
+    }
+
+    private static final class Window {
+        private final Entry entry;
+        private final LocalDateTime firstSeen;
+        private LocalDateTime lastSeen;
+        private Long id;
+        private int pending;
+
+        Window(Entry entry) {
+            this.entry = entry;
+            this.firstSeen = entry.time();
+            this.lastSeen = entry.time();
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.hamrochalchitraghar.system.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring for many producers and one consumer. Producers claim a slot with a
+ * CAS on the tail and never block; when the ring is full {@link #offer} returns false.
+ * {@link #drain} must only be called from one thread at a time.
+ */
+final class ErrorRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    ErrorRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean offer(T item) {
+        while (true) {
+            long t = tail.get();
+            if (t - head.get() >= slots.length()) return false;
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.set((int) (t & mask), item);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Takes up to {@code max} items in arrival order. Stops early at a slot that was claimed
+     * but not yet filled; the next drain picks it up.
+     */
+    List<T> drain(int max) {
+        List<T> items = new ArrayList<>();
+        long h = head.get();
+        while (items.size() < max && h < tail.get()) {
+            int index = (int) (h & mask);
+            T item = slots.get(index);
+            if (item == null) break;
+            slots.set(index, null);
+            items.add(item);
+            head.set(++h);
+        }
+        return items;
+    }
+
+    int size() {
+        return (int) (tail.get() - head.get());
+    }
+}
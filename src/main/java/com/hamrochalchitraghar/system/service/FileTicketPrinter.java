@@ -0,0 +1,32 @@
+package com.hamrochalchitraghar.system.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fake printer that writes every job to its own file. Used by tests and on machines
+ * without a ticket printer ({@code app.print.fake-dir}).
+ */
+public class FileTicketPrinter implements TicketPrinter {
+
+    private final Path directory;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public FileTicketPrinter(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public String name() {
+        return "file:" + directory;
+    }
+
+    @Override
+    public void print(byte[] document) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve("ticket-" + System.currentTimeMillis() + "-" + sequence.incrementAndGet() + ".txt");
+        Files.write(file, document);
+    }
+}
@@ -0,0 +1,165 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.hamrochalchitraghar.system.config.IdempotencyProperties;
+import com.hamrochalchitraghar.system.dto.BookingSubmission;
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.BookingRequestKey;
+import com.hamrochalchitraghar.system.model.enums.BookingChannel;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import com.hamrochalchitraghar.system.repository.BookingRequestKeyRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Books seats at most once per request key, so a double-click or a load balancer retry
+ * gets the first booking back instead of claiming seats again. Finished keys are looked
+ * up in a bounded in-memory cache, then in booking_request_keys (other nodes, evicted
+ * keys); a duplicate arriving while the first is still running waits for its result.
+ * Every path only answers for the customer and show the key was first used with.
+ */
+@Service
+public class IdempotentBookingService {
+
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final BookingRequestKeyRepository requestKeyRepository;
+    private final IdempotencyProperties properties;
+
+    private static final int MAX_KEY_LENGTH = 64; // booking_request_keys.request_key
+
+    private final Cache<String, CompletedKey> completed;
+    private final ConcurrentHashMap<String, RunningKey> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotentBookingService(BookingService bookingService,
+                                    BookingRepository bookingRepository,
+                                    BookingRequestKeyRepository requestKeyRepository,
+                                    IdempotencyProperties properties) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.requestKeyRepository = requestKeyRepository;
+        this.properties = properties;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+    }
+
+    public BookingSubmission book(String requestKey, Long customerId, Long showId, List<String> seatNumbers,
+                                  BookingChannel channel, String holder) {
+        if (requestKey == null || requestKey.isBlank()) {
+            return new BookingSubmission(bookingService.bookSeats(customerId, showId, seatNumbers, channel, holder), false);
+        }
+
+        if (requestKey.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Invalid booking request. Please reload the page and try again.");
+        }
+
+        KeyOwner owner = new KeyOwner(customerId, showId);
+        Optional<Booking> previous = findCompleted(requestKey, owner);
+        if (previous.isPresent()) return new BookingSubmission(previous.get(), true);
+
+        RunningKey mine = new RunningKey(owner, new CompletableFuture<>());
+        RunningKey running = inFlight.putIfAbsent(requestKey, mine);
+        if (running != null) {
+            running.owner().check(owner);
+            return new BookingSubmission(await(running.booking()), true);
+        }
+
+        try {
+            Booking booking = bookingService.bookSeats(customerId, showId, seatNumbers, channel, holder, requestKey);
+            completed.put(requestKey, new CompletedKey(owner, booking.getId()));
+            mine.booking().complete(booking);
+            return new BookingSubmission(booking, false);
+        } catch (RuntimeException e) {
+            RuntimeException failure = e;
+            try {
+                // Another node may have committed this key first; its booking is the answer
+                Optional<Booking> winner = findCompleted(requestKey, owner);
+                if (winner.isPresent()) {
+                    mine.booking().complete(winner.get());
+                    return new BookingSubmission(winner.get(), true);
+                }
+            } catch (RuntimeException usedElsewhere) {
+                failure = usedElsewhere;
+            }
+            mine.booking().completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlight.remove(requestKey, mine);
+        }
+    }
+
+    /**
+     * Forgets keys past their TTL; the cache expires on its own.
+     */
+    @Scheduled(fixedRate = 3_600_000)
+    @Transactional
+    public void purgeExpired() {
+        int purged = requestKeyRepository.deleteOlderThan(LocalDateTime.now().minus(properties.ttl()));
+        if (purged > 0) System.out.println("🧹 Purged " + purged + " expired booking request key(s)");
+    }
+
+    /**
+     * The booking a key already produced, once the asker is checked against the customer
+     * and show the key was first used for.
+     */
+    private Optional<Booking> findCompleted(String requestKey, KeyOwner asker) {
+        CompletedKey cached = completed.getIfPresent(requestKey);
+        if (cached != null) {
+            cached.owner().check(asker);
+            return bookingRepository.findWithShowById(cached.bookingId());
+        }
+
+        Optional<BookingRequestKey> stored = requestKeyRepository.findByRequestKey(requestKey);
+        if (stored.isEmpty()) return Optional.empty();
+        Optional<Booking> booking = bookingRepository.findWithShowById(stored.get().getBookingId());
+        if (booking.isPresent()) {
+            Long customerId = booking.get().getCustomer() == null ? null : booking.get().getCustomer().getId();
+            KeyOwner owner = new KeyOwner(customerId, stored.get().getShowId());
+            owner.check(asker);
+            completed.put(requestKey, new CompletedKey(owner, booking.get().getId()));
+        }
+        return booking;
+    }
+
+    private static Booking await(CompletableFuture<Booking> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    /**
+     * Customer (null at the box office) and show a key was first used for.
+     */
+    private record KeyOwner(Long customerId, Long showId) {
+
+        void check(KeyOwner asker) {
+            if (!Objects.equals(showId, asker.showId())) {
+                throw new RuntimeException("This booking request was already used for another show. Please reload the page.");
+            }
+            if (!Objects.equals(customerId, asker.customerId())) {
+                throw new RuntimeException("This booking request was already used by another customer. Please reload the page.");
+            }
+        }
+    }
+
+    private record CompletedKey(KeyOwner owner, Long bookingId) {
+    }
+
+    private record RunningKey(KeyOwner owner, CompletableFuture<Booking> booking) {
+    }
+}
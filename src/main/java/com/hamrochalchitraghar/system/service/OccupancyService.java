@@ -0,0 +1,69 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.dto.HallOccupancy;
+import com.hamrochalchitraghar.system.dto.OccupancyUpdate;
+import com.hamrochalchitraghar.system.event.SeatStateChangedEvent;
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+import com.hamrochalchitraghar.system.repository.MovieRepository;
+import com.hamrochalchitraghar.system.repository.ShowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hall occupancy for the admin halls page. The page is built from one grouped query;
+ * afterwards booked counts of shows whose seats were booked or released are taken from
+ * the in-memory seat map and pushed on {@code /topic/occupancy}, at most once a second per show.
+ */
+@Service
+@RequiredArgsConstructor
+public class OccupancyService {
+
+    private final ShowRepository showRepository;
+    private final MovieRepository movieRepository;
+    private final SeatStateService seatStateService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    private final Set<Long> changedShows = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Occupancy per show ordered by show time; past shows only when {@code includePast}.
+     */
+    public List<HallOccupancy> getOccupancy(boolean includePast) {
+        LocalDateTime now = LocalDateTime.now();
+        if (includePast) return showRepository.findOccupancy(null);
+
+        // Nothing that started before the longest movie's runtime can still be running
+        LocalDateTime from = now.minusMinutes(movieRepository.findMaxDuration());
+        return showRepository.findOccupancy(from).stream()
+                .filter(h -> h.endsAfter(now))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatStateChanged(SeatStateChangedEvent event) {
+        // Holds don't change occupancy; bookings and releases (cancellations) do
+        if (event.status() != SeatStatus.LOCKED) changedShows.add(event.showId());
+    }
+
+    @Scheduled(fixedDelay = 1000)
+    public void publishChanges() {
+        Iterator<Long> it = changedShows.iterator();
+        while (it.hasNext()) {
+            Long showId = it.next();
+            it.remove();
+            Map<String, SeatStatus> statuses = seatStateService.getSeatStatuses(showId);
+            long booked = statuses.values().stream().filter(s -> s == SeatStatus.BOOKED).count();
+            messagingTemplate.convertAndSend("/topic/occupancy", new OccupancyUpdate(showId, booked, statuses.size()));
+        }
+    }
+}
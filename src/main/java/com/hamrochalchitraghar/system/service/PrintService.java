@@ -1,7 +1,20 @@
 package com.hamrochalchitraghar.system.service;
 
+import com.hamrochalchitraghar.system.dto.PrintJob;
 import com.hamrochalchitraghar.system.model.Booking;
 
+import java.util.Optional;
+
 public interface PrintService {
-    void printTicket(Booking booking);
+
+    /**
+     * Queues the tickets of a booking on the box-office printer and returns at once.
+     *
+     * @throws org.springframework.core.task.TaskRejectedException when the printer's queue is full
+     */
+    PrintJob printTicket(Booking booking);
+
+    Optional<PrintJob> find(String jobId);
+
+    Optional<PrintJob> findLatestForBooking(Long bookingId);
 }
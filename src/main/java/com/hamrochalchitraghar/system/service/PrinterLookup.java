@@ -0,0 +1,85 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.PrintSpoolerProperties;
+import org.springframework.stereotype.Service;
+
+import javax.print.*;
+import java.io.ByteArrayInputStream;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds printers by name and remembers them for {@code app.print.lookup-ttl}, so the native
+ * {@link PrintServiceLookup} runs once per printer instead of once per ticket.
+ * Printers that are not found are not remembered; a plugged-in printer is picked up on the next job.
+ */
+@Service
+public class PrinterLookup {
+
+    private final PrintSpoolerProperties properties;
+    private final Map<String, CachedPrinter> printers = new ConcurrentHashMap<>();
+
+    public PrinterLookup(PrintSpoolerProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Queue key of the configured printer.
+     */
+    public String defaultPrinter() {
+        return properties.printer() == null || properties.printer().isBlank() ? "default" : properties.printer();
+    }
+
+    public TicketPrinter find(String name) {
+        CachedPrinter cached = printers.get(name);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now())) {
+            return cached.printer();
+        }
+        TicketPrinter printer = lookUp(name);
+        printers.put(name, new CachedPrinter(printer, Instant.now().plus(properties.lookupTtl())));
+        return printer;
+    }
+
+    /**
+     * Forgets a printer after a failed job, so the retry looks it up again.
+     */
+    public void invalidate(String name) {
+        printers.remove(name);
+    }
+
+    private TicketPrinter lookUp(String name) {
+        if (properties.fakeDir() != null) {
+            return new FileTicketPrinter(properties.fakeDir());
+        }
+        javax.print.PrintService service = name.equals("default")
+                ? PrintServiceLookup.lookupDefaultPrintService()
+                : Arrays.stream(PrintServiceLookup.lookupPrintServices(null, null))
+                        .filter(s -> s.getName().equals(name))
+                        .findFirst()
+                        .orElse(null);
+        if (service == null) {
+            throw new RuntimeException("No printer found" + (name.equals("default") ? "." : ": " + name));
+        }
+        System.out.println("🖨️ Found printer: " + service.getName());
+        return new SystemPrinter(service);
+    }
+
+    private record CachedPrinter(TicketPrinter printer, Instant expiresAt) {
+    }
+
+    private record SystemPrinter(javax.print.PrintService service) implements TicketPrinter {
+
+        @Override
+        public String name() {
+            return service.getName();
+        }
+
+        @Override
+        public void print(byte[] document) throws PrintException {
+            Doc doc = new SimpleDoc(new ByteArrayInputStream(document), DocFlavor.INPUT_STREAM.AUTOSENSE, null);
+            service.createPrintJob().print(doc, null);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.ReportJobProperties;
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.ReportJob;
+import com.hamrochalchitraghar.system.model.enums.ReportJobStatus;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs booking report exports in the background on the bounded report executor and
+ * keeps the finished files on local disk. A submission with the same filters over
+ * unchanged data (same fingerprint) gets the existing job instead of a new export.
+ */
+@Service
+public class ReportJobService {
+
+    private final BookingReportService bookingReportService;
+    private final BookingRepository bookingRepository;
+    private final ErrorLogService errorLogService;
+    private final TaskExecutor reportExecutor;
+    private final ReportJobProperties properties;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, String> jobIdsByKey = new ConcurrentHashMap<>();
+
+    public ReportJobService(BookingReportService bookingReportService,
+                            BookingRepository bookingRepository,
+                            ErrorLogService errorLogService,
+                            @Qualifier("reportExecutor") TaskExecutor reportExecutor,
+                            ReportJobProperties properties) {
+        this.bookingReportService = bookingReportService;
+        this.bookingRepository = bookingRepository;
+        this.errorLogService = errorLogService;
+        this.reportExecutor = reportExecutor;
+        this.properties = properties;
+    }
+
+    /**
+     * @throws TaskRejectedException when the report queue is full
+     */
+    public ReportJob submit(BookingReportFilter filter) {
+        String key = filter + "|" + bookingRepository.reportFingerprint(filter);
+        ReportJob[] created = {null};
+        String jobId = jobIdsByKey.compute(key, (k, existingId) -> {
+            ReportJob existing = existingId == null ? null : jobs.get(existingId);
+            if (existing != null && existing.status() != ReportJobStatus.FAILED) return existingId;
+            ReportJob job = new ReportJob(UUID.randomUUID().toString(), ReportJobStatus.QUEUED, filter, 0, null,
+                    LocalDateTime.now(), null);
+            jobs.put(job.id(), job);
+            created[0] = job;
+            return job.id();
+        });
+
+        if (created[0] != null) {
+            try {
+                reportExecutor.execute(() -> run(jobId));
+            } catch (TaskRejectedException e) {
+                jobIdsByKey.remove(key, jobId);
+                jobs.remove(jobId);
+                throw new TaskRejectedException("Too many reports are being generated. Please try again shortly.", e);
+            }
+        } else {
+            System.out.println("♻️ Reusing report job " + jobId + " for unchanged data");
+        }
+        return jobs.get(jobId);
+    }
+
+    public Optional<ReportJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * File of a finished job, or empty while it is still queued or running.
+     */
+    public Optional<Path> artifact(String jobId) {
+        return find(jobId)
+                .filter(job -> job.status() == ReportJobStatus.DONE)
+                .map(job -> file(job.id()))
+                .filter(Files::exists);
+    }
+
+    /**
+     * Drops jobs (and their files) that finished longer ago than the retention period.
+     */
+    @Scheduled(fixedRate = 3_600_000)
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        jobs.values().stream()
+                .filter(job -> job.finishedAt() != null && job.finishedAt().isBefore(cutoff))
+                .map(ReportJob::id)
+                .toList()
+                .forEach(id -> {
+                    jobs.remove(id);
+                    jobIdsByKey.values().remove(id);
+                    deleteQuietly(file(id));
+                });
+    }
+
+    private void run(String jobId) {
+        jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(ReportJobStatus.RUNNING, 0, null));
+        ReportJob job = jobs.get(jobId);
+        Path target = file(jobId);
+        try {
+            Files.createDirectories(properties.storageDir());
+            long rows;
+            try (OutputStream out = Files.newOutputStream(target)) {
+                rows = bookingReportService.exportExcel(job.filter(), out);
+            }
+            jobs.computeIfPresent(jobId, (id, j) -> j.withStatus(ReportJobStatus.DONE, rows, null));
+            System.out.println("✅ Report job " + jobId + " finished (" + rows + " rows)");
+        } catch (Exception e) {
+            deleteQuietly(target);
+            jobs.computeIfPresent(jobId, (id, j) -> j.withStatus(ReportJobStatus.FAILED, 0, e.getMessage()));
+            errorLogService.logError("ReportJobService", "Report job " + jobId + " failed | " + e.getMessage(), null);
+        }
+    }
+
+    private Path file(String jobId) {
+        return properties.storageDir().resolve(jobId + ".xlsx");
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            System.out.println("⚠️ Could not delete report file " + path + ": " + e.getMessage());
+        }
+    }
+}
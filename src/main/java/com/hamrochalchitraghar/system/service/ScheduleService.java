@@ -0,0 +1,36 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.CacheConfig;
+import com.hamrochalchitraghar.system.dto.ScheduledShow;
+import com.hamrochalchitraghar.system.event.CatalogueChangedEvent;
+import com.hamrochalchitraghar.system.repository.ShowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Show schedule per day for the box-office screens, read from the show_time index once
+ * and then served from cache until a movie or show changes.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScheduleService {
+
+    private final ShowRepository showRepository;
+
+    @Cacheable(CacheConfig.SCHEDULE)
+    public List<ScheduledShow> getShowsForDay(LocalDate day) {
+        return showRepository.findSchedule(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @CacheEvict(value = CacheConfig.SCHEDULE, allEntries = true)
+    public void onCatalogueChanged(CatalogueChangedEvent event) {
+        System.out.println("🗓️ Schedule cache cleared after " + event.type().getSimpleName() + " change");
+    }
+}
@@ -1,21 +1,155 @@
 package com.hamrochalchitraghar.system.service;
 
-import com.hamrochalchitraghar.system.model.Seat;
+import com.hamrochalchitraghar.system.config.SeatBroadcastProperties;
+import com.hamrochalchitraghar.system.dto.SeatDelta;
+import com.hamrochalchitraghar.system.dto.SeatSync;
+import com.hamrochalchitraghar.system.event.SeatStateChangedEvent;
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
 import lombok.RequiredArgsConstructor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.util.List;
-import java.util.Map;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Publishes seat changes to WebSocket clients once they are committed.
+ * Changes of one show are coalesced over a short window (last state per seat wins)
+ * and sent as one compact {@link SeatDelta} frame on {@code /topic/seats/{showId}}.
+ * Frames are versioned per show and the most recent ones are retained so a client
+ * that sees a gap can catch up with {@link #sync(Long, String, Long)} instead of reloading.
+ * Versions are local to this node (and to this run), so every frame names its node.
+ * Channels of shows whose seat map was dropped are dropped too; a recreated channel
+ * continues above every version this node has issued, so old versions get a snapshot.
+ */
 @Service
 @RequiredArgsConstructor
 public class SeatBroadcastService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final TaskScheduler taskScheduler;
+    private final SeatBroadcastProperties properties;
+    private final SeatStateService seatStateService;
 
-    public void sendSeatUpdate(Long showId, List<Seat> updatedSeats) {
-        messagingTemplate.convertAndSend("/topic/seat-updates",
-                Map.of("showId", showId, "updatedSeats", updatedSeats));
+    private final String node = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Long, PendingFrame> pending = new ConcurrentHashMap<>();
+    private final Map<Long, ShowChannel> channels = new ConcurrentHashMap<>();
+    private final AtomicLong highestVersion = new AtomicLong();
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatStateChanged(SeatStateChangedEvent event) {
+        boolean[] schedule = {false};
+        pending.compute(event.showId(), (showId, frame) -> {
+            if (frame == null) {
+                frame = new PendingFrame();
+                schedule[0] = true;
+            }
+            for (String seatNo : event.seatNumbers()) {
+                frame.seats.put(seatNo, event.status());
+            }
+            return frame;
+        });
+        if (schedule[0]) {
+            taskScheduler.schedule(() -> flush(event.showId()),
+                    Instant.now().plus(properties.coalesceWindow()));
+        }
+    }
+
+    private void flush(Long showId) {
+        PendingFrame frame = pending.remove(showId);
+        if (frame == null || frame.seats.isEmpty()) return;
+
+        Map<SeatStatus, List<String>> grouped = new EnumMap<>(SeatStatus.class);
+        frame.seats.forEach((seatNo, status) -> grouped.computeIfAbsent(status, s -> new ArrayList<>()).add(seatNo));
+
+        ShowChannel channel = channel(showId);
+        synchronized (channel) {
+            SeatDelta delta = new SeatDelta(showId, node, ++channel.version, grouped);
+            highestVersion.accumulateAndGet(channel.version, Math::max);
+            channel.recent.addLast(delta);
+            if (channel.recent.size() > properties.retainedFrames()) channel.recent.removeFirst();
+            // Sent under the channel monitor so frames of one show leave in version order
+            messagingTemplate.convertAndSend("/topic/seats/" + showId, delta);
+        }
+        System.out.println("📡 WebSocket broadcast sent for Show ID: " + showId + " (" + frame.seats.size() + " seat(s))");
+    }
+
+    /**
+     * Identifier of this node's frame sequence.
+     */
+    public String nodeId() {
+        return node;
+    }
+
+    /**
+     * Latest frame version of a show; rendered into the seat pages as their starting point.
+     */
+    public long currentVersion(Long showId) {
+        ShowChannel channel = channel(showId);
+        synchronized (channel) {
+            return channel.version;
+        }
+    }
+
+    /**
+     * Catch-up for a client at version {@code since}: only the missing deltas when they
+     * are still retained, otherwise a snapshot from the seat map. A version taken from
+     * another node (or an earlier run of this one) means nothing here and gets a snapshot.
+     */
+    public SeatSync sync(Long showId, String clientNode, Long since) {
+        Long from = (clientNode == null || clientNode.equals(node)) ? since : null;
+        ShowChannel channel = channel(showId);
+        long version;
+        List<SeatDelta> deltas;
+        synchronized (channel) {
+            version = channel.version;
+            long oldestRetained = channel.recent.isEmpty() ? version + 1 : channel.recent.peekFirst().seq();
+            if (from != null && from >= oldestRetained - 1 && from <= version) {
+                deltas = channel.recent.stream().filter(d -> d.seq() > from).toList();
+                return new SeatSync(showId, node, version, null, deltas);
+            }
+        }
+        // Taken after reading the version, so it is never older than it
+        return new SeatSync(showId, node, version, seatStateService.getSeatStatuses(showId), List.of());
+    }
+
+    /**
+     * Drops the channels of every show not in {@code showIds}, with their retained frames.
+     *
+     * @return number of channels dropped
+     */
+    public int retainChannels(Set<Long> showIds) {
+        int before = channels.size();
+        channels.keySet().retainAll(showIds);
+        return Math.max(0, before - channels.size());
+    }
+
+    private ShowChannel channel(Long showId) {
+        return channels.computeIfAbsent(showId, id -> new ShowChannel(highestVersion.get()));
+    }
+
+    /**
+     * Version counter and retained frames of one show, guarded by its own monitor.
+     */
+    private static final class ShowChannel {
+        private long version;
+
+        private ShowChannel(long version) {
+            this.version = version;
+        }
+
+        private final Deque<SeatDelta> recent = new ArrayDeque<>();
+    }
+
+    /**
+     * Seat changes collected for one show during the current window. Only mutated inside
+     * {@code pending.compute}, which serializes writers per show.
+     */
+    private static final class PendingFrame {
+        private final Map<String, SeatStatus> seats = new LinkedHashMap<>();
     }
 }
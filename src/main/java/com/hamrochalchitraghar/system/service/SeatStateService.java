@@ -0,0 +1,471 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.SeatHoldProperties;
+import com.hamrochalchitraghar.system.model.Seat;
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+import com.hamrochalchitraghar.system.model.enums.SeatType;
+import com.hamrochalchitraghar.system.repository.SeatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * In-memory seat map per show, kept in front of SeatRepository.
+ * Each show is loaded lazily on first access and then answers availability
+ * queries without touching MySQL. Every seat slot holds an immutable state
+ * that is only ever replaced by compare-and-set, so concurrent buyers of the
+ * same show are accepted or rejected without any lock; the per-show arrays
+ * keep contention striped by show.
+ * <p>
+ * SeatUnlockScheduler drops the maps of shows that have started or sat idle, so
+ * memory follows the shows in use and changes made to seats directly in the database
+ * show up once the show is next loaded.
+ * <p>
+ * The map is per node. With the RELAY broker, other nodes' frames reach the browsers
+ * but not this map, and nothing refreshes it while the show is in use: snapshots
+ * ({@link #getSeatStatuses}) miss their holds and bookings until the show sits idle for
+ * app.seats.map.idle-timeout or starts, and only then reload from the database. A seat
+ * held on another node can be held here too. Double booking is still prevented by the booked re-check and the
+ * optimistic version check in {@code bookSeats}.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatStateService {
+
+    private final SeatRepository seatRepository;
+    private final SeatHoldProperties holdProperties;
+
+    private final Map<Long, ShowSeatMap> shows = new ConcurrentHashMap<>();
+
+    // Every hold ever placed, ordered by deadline; stale entries are skipped by CAS on expiry
+    private final Queue<HoldExpiry> holdExpiries = new PriorityBlockingQueue<>();
+
+    /**
+     * Seats that are neither booked, claimed, nor under a live hold.
+     */
+    public List<Seat> getAvailableSeats(Long showId) {
+        return map(showId).available(LocalDateTime.now());
+    }
+
+    /**
+     * Full seat layout for a show (booked and free), e.g. for the box-office view.
+     */
+    public List<Seat> getSeats(Long showId) {
+        return map(showId).all();
+    }
+
+    /**
+     * Client-facing status of every seat of a show; claims in flight and live holds count as LOCKED.
+     */
+    public Map<String, SeatStatus> getSeatStatuses(Long showId) {
+        return map(showId).statuses(LocalDateTime.now());
+    }
+
+    /**
+     * Atomically claims the given seats for a booking in progress. Seats held by
+     * {@code holder} are claimable by it; everything else must be free.
+     * Throws with the first unavailable seat and leaves every other seat untouched.
+     * Inside a transaction the claim confirms on commit and rolls back otherwise;
+     * outside one the caller must call {@link SeatClaim#confirm()} or {@link SeatClaim#abort()}.
+     */
+    public SeatClaim claim(Long showId, Collection<String> seatNumbers, String holder) {
+        LocalDateTime now = LocalDateTime.now();
+        SeatClaim claim = map(showId).acquire(seatNumbers, holder, now,
+                new SeatState(Status.CLAIMED, holder, now, null));
+        bindToTransaction(claim, true);
+        return claim;
+    }
+
+    /**
+     * Places or renews a hold for {@code holder}; all seats or none.
+     * The hold lasts for the configured TTL from now and is undone if the
+     * surrounding transaction rolls back.
+     */
+    public SeatClaim hold(Long showId, Collection<String> seatNumbers, String holder) {
+        LocalDateTime now = LocalDateTime.now();
+        SeatClaim hold = map(showId).acquire(seatNumbers, holder, now,
+                new SeatState(Status.LOCKED, holder, now, now.plus(holdProperties.ttl())));
+        bindToTransaction(hold, false);
+        return hold;
+    }
+
+    /**
+     * Drops holds owned by {@code holder}; seats held by anyone else are left alone.
+     *
+     * @return seat numbers that were actually released
+     */
+    public List<String> release(Long showId, Collection<String> seatNumbers, String holder) {
+        return mapIfLoaded(showId).map(m -> m.release(seatNumbers, holder)).orElse(List.of());
+    }
+
+    /**
+     * Returns seats to the pool unconditionally once the transaction commits, e.g. on cancellation.
+     */
+    public void markReleased(Long showId, Collection<String> seatNumbers) {
+        afterCommit(() -> mapIfLoaded(showId).ifPresent(m -> m.release(seatNumbers, null)));
+    }
+
+    /**
+     * Clears holds whose deadline has passed. Only the head of the expiry queue is
+     * visited, so the cost follows the number of expiring holds, not of seats.
+     *
+     * @return seat numbers released in memory, per show
+     */
+    public Map<Long, List<String>> expireHolds(LocalDateTime now) {
+        Map<Long, List<String>> expired = new HashMap<>();
+        HoldExpiry head;
+        while ((head = holdExpiries.peek()) != null && !head.state().expiresAt().isAfter(now)) {
+            HoldExpiry entry = holdExpiries.poll();
+            // Holds of a dropped map were reloaded with their own expiry entries
+            if (entry != null && shows.get(entry.map().showId) == entry.map()
+                    && entry.map().states.compareAndSet(entry.slot(), entry.state(), SeatState.FREE)) {
+                expired.computeIfAbsent(entry.map().showId, id -> new ArrayList<>())
+                        .add(entry.map().seatNumbers[entry.slot()]);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Shows whose seat map is currently loaded.
+     */
+    public Set<Long> loadedShowIds() {
+        return Set.copyOf(shows.keySet());
+    }
+
+    /**
+     * Drops a show so the next access reloads it from the database. A map with a
+     * booking claim in flight is kept, so the claim confirms into the map that is served.
+     *
+     * @return whether the show was dropped
+     */
+    public boolean evict(Long showId) {
+        boolean[] evicted = {false};
+        shows.computeIfPresent(showId, (id, m) -> {
+            if (m.hasClaims()) return m;
+            evicted[0] = true;
+            return null;
+        });
+        return evicted[0];
+    }
+
+    /**
+     * Drops every show not accessed since {@code idleSince}; see {@link #evict(Long)}.
+     *
+     * @return shows that were dropped
+     */
+    public List<Long> evictIdle(LocalDateTime idleSince) {
+        List<Long> evicted = new ArrayList<>();
+        for (ShowSeatMap m : shows.values()) {
+            if (m.lastAccess.isBefore(idleSince) && evict(m.showId)) evicted.add(m.showId);
+        }
+        return evicted;
+    }
+
+    private ShowSeatMap map(Long showId) {
+        ShowSeatMap m = shows.computeIfAbsent(showId, this::load);
+        if (m == null) {
+            // Unknown show or no seats yet: not cached, so seats scheduled later are picked up
+            return new ShowSeatMap(showId, List.of(), holdProperties.ttl(), holdExpiries);
+        }
+        m.lastAccess = LocalDateTime.now();
+        return m;
+    }
+
+    private ShowSeatMap load(Long showId) {
+        List<Seat> seats = seatRepository.findByShowId(showId);
+        return seats.isEmpty() ? null : new ShowSeatMap(showId, seats, holdProperties.ttl(), holdExpiries);
+    }
+
+    private Optional<ShowSeatMap> mapIfLoaded(Long showId) {
+        return Optional.ofNullable(shows.get(showId));
+    }
+
+    private void bindToTransaction(SeatClaim claim, boolean confirmOnCommit) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) claim.abort();
+                    else if (confirmOnCommit) claim.confirm();
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs the action once the current transaction commits, or immediately when there is none.
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    enum Status { FREE, LOCKED, CLAIMED, BOOKED }
+
+    /**
+     * Immutable state of a single seat slot. Identity matters: slots are swapped with CAS.
+     * {@code expiresAt} is only set for holds.
+     */
+    record SeatState(Status status, String holder, LocalDateTime lockedAt, LocalDateTime expiresAt) {
+
+        static final SeatState FREE = new SeatState(Status.FREE, null, null, null);
+
+        boolean isHeldBy(String other) {
+            return holder != null && holder.equals(other);
+        }
+    }
+
+    /**
+     * Queue entry for a hold on one seat slot; only expires the exact state it was created for.
+     */
+    record HoldExpiry(ShowSeatMap map, int slot, SeatState state) implements Comparable<HoldExpiry> {
+
+        @Override
+        public int compareTo(HoldExpiry other) {
+            return state.expiresAt().compareTo(other.state.expiresAt());
+        }
+    }
+
+    /**
+     * A set of seats acquired by one claim or hold, with the states they replaced.
+     */
+    public static final class SeatClaim {
+
+        private final ShowSeatMap map;
+        private final int[] slots;
+        private final SeatState[] previous;
+        private final SeatState[] acquired;
+
+        private SeatClaim(ShowSeatMap map, int[] slots, SeatState[] previous, SeatState[] acquired) {
+            this.map = map;
+            this.slots = slots;
+            this.previous = previous;
+            this.acquired = acquired;
+        }
+
+        public List<String> seatNumbers() {
+            List<String> numbers = new ArrayList<>(slots.length);
+            for (int slot : slots) numbers.add(map.seatNumbers[slot]);
+            return numbers;
+        }
+
+        /**
+         * Seats that were not already held by the same holder, i.e. those whose
+         * visible state actually changed; renewals of an existing hold are left out.
+         */
+        public List<String> changedSeatNumbers() {
+            List<String> numbers = new ArrayList<>(slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                if (previous[i].status() != Status.LOCKED || !Objects.equals(previous[i].holder(), acquired[i].holder())) {
+                    numbers.add(map.seatNumbers[slots[i]]);
+                }
+            }
+            return numbers;
+        }
+
+        /**
+         * Deadline of the hold, or null for a booking claim.
+         */
+        public LocalDateTime expiresAt() {
+            return acquired.length == 0 ? null : acquired[0].expiresAt();
+        }
+
+        /**
+         * Marks the claimed seats as booked.
+         */
+        public void confirm() {
+            for (int i = 0; i < slots.length; i++) {
+                map.states.compareAndSet(slots[i], acquired[i],
+                        new SeatState(Status.BOOKED, acquired[i].holder(), acquired[i].lockedAt(), null));
+            }
+        }
+
+        /**
+         * Restores whatever the seats held before the claim.
+         */
+        public void abort() {
+            for (int i = 0; i < slots.length; i++) {
+                if (map.states.compareAndSet(slots[i], acquired[i], previous[i])
+                        && previous[i].status() == Status.LOCKED) {
+                    map.holdExpiries.add(new HoldExpiry(map, slots[i], previous[i]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Compact seat state for one show. Seat metadata is immutable after load;
+     * the mutable part is one state reference per seat position.
+     */
+    static final class ShowSeatMap {
+
+        private final Long showId;
+        private final Long[] ids;
+        private final String[] seatNumbers;
+        private final SeatType[] seatTypes;
+        private final Map<String, Integer> index;
+        private final AtomicReferenceArray<SeatState> states;
+        private final Queue<HoldExpiry> holdExpiries;
+        private volatile LocalDateTime lastAccess = LocalDateTime.now();
+
+        ShowSeatMap(Long showId, List<Seat> seats, Duration holdTtl, Queue<HoldExpiry> holdExpiries) {
+            this.showId = showId;
+            List<Seat> ordered = seats.stream()
+                    .sorted(Comparator.comparing(Seat::getId))
+                    .toList();
+            int size = ordered.size();
+            this.ids = new Long[size];
+            this.seatNumbers = new String[size];
+            this.seatTypes = new SeatType[size];
+            this.index = new HashMap<>(size * 2);
+            this.states = new AtomicReferenceArray<>(size);
+            this.holdExpiries = holdExpiries;
+
+            for (int i = 0; i < size; i++) {
+                Seat seat = ordered.get(i);
+                ids[i] = seat.getId();
+                seatNumbers[i] = seat.getSeatNo();
+                seatTypes[i] = seat.getSeatType();
+                index.put(seat.getSeatNo(), i);
+                if (seat.isBooked()) {
+                    states.set(i, new SeatState(Status.BOOKED, seat.getLockedBy(), seat.getLockedAt(), null));
+                } else if (seat.getLockedAt() != null) {
+                    SeatState held = new SeatState(Status.LOCKED, seat.getLockedBy(), seat.getLockedAt(),
+                            seat.getLockedAt().plus(holdTtl));
+                    states.set(i, held);
+                    holdExpiries.add(new HoldExpiry(this, i, held));
+                } else {
+                    states.set(i, SeatState.FREE);
+                }
+            }
+        }
+
+        boolean hasClaims() {
+            for (int i = 0; i < ids.length; i++) {
+                if (states.get(i).status() == Status.CLAIMED) return true;
+            }
+            return false;
+        }
+
+        List<Seat> available(LocalDateTime now) {
+            List<Seat> result = new ArrayList<>();
+            for (int i = 0; i < ids.length; i++) {
+                SeatState state = states.get(i);
+                if (isAcquirable(state, null, now)) result.add(snapshot(i, state));
+            }
+            return result;
+        }
+
+        List<Seat> all() {
+            List<Seat> result = new ArrayList<>(ids.length);
+            for (int i = 0; i < ids.length; i++) {
+                result.add(snapshot(i, states.get(i)));
+            }
+            return result;
+        }
+
+        Map<String, SeatStatus> statuses(LocalDateTime now) {
+            Map<String, SeatStatus> result = new LinkedHashMap<>(ids.length * 2);
+            for (int i = 0; i < ids.length; i++) {
+                SeatState state = states.get(i);
+                result.put(seatNumbers[i], state.status() == Status.BOOKED ? SeatStatus.BOOKED
+                        : isAcquirable(state, null, now) ? SeatStatus.AVAILABLE
+                        : SeatStatus.LOCKED);
+            }
+            return result;
+        }
+
+        /**
+         * CAS every requested slot to {@code next}; on the first unavailable seat,
+         * undo the slots already taken and fail.
+         */
+        SeatClaim acquire(Collection<String> numbers, String holder, LocalDateTime now, SeatState next) {
+            int[] slots = numbers.stream()
+                    .map(index::get)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+            if (slots.length == 0) {
+                throw new RuntimeException("No valid seats found for this show!");
+            }
+
+            SeatState[] previous = new SeatState[slots.length];
+            SeatState[] acquired = new SeatState[slots.length];
+
+            for (int i = 0; i < slots.length; i++) {
+                int slot = slots[i];
+                SeatState current;
+                do {
+                    current = states.get(slot);
+                    if (!isAcquirable(current, holder, now)) {
+                        new SeatClaim(this, Arrays.copyOf(slots, i),
+                                Arrays.copyOf(previous, i), Arrays.copyOf(acquired, i)).abort();
+                        throw new RuntimeException(current.status() == Status.BOOKED
+                                ? "Seat " + seatNumbers[slot] + " is already booked."
+                                : "Seat " + seatNumbers[slot] + " is temporarily locked. Please refresh.");
+                    }
+                } while (!states.compareAndSet(slot, current, next));
+                previous[i] = current;
+                acquired[i] = next;
+                if (next.expiresAt() != null) holdExpiries.add(new HoldExpiry(this, slot, next));
+            }
+            return new SeatClaim(this, slots, previous, acquired);
+        }
+
+        /**
+         * Frees held seats; with a null holder also frees booked seats (cancellation).
+         */
+        List<String> release(Collection<String> numbers, String holder) {
+            List<String> released = new ArrayList<>();
+            for (String seatNo : numbers) {
+                Integer i = index.get(seatNo);
+                if (i == null) continue;
+                SeatState current = states.get(i);
+                boolean owned = holder == null
+                        ? current.status() != Status.CLAIMED
+                        : current.status() == Status.LOCKED && current.isHeldBy(holder);
+                if (owned && states.compareAndSet(i, current, SeatState.FREE)) {
+                    released.add(seatNo);
+                }
+            }
+            return released;
+        }
+
+        private static boolean isAcquirable(SeatState state, String holder, LocalDateTime now) {
+            return switch (state.status()) {
+                case FREE -> true;
+                case LOCKED -> state.isHeldBy(holder) || !state.expiresAt().isAfter(now);
+                case CLAIMED, BOOKED -> false;
+            };
+        }
+
+        private Seat snapshot(int i, SeatState state) {
+            return Seat.builder()
+                    .id(ids[i])
+                    .seatNo(seatNumbers[i])
+                    .seatType(seatTypes[i])
+                    .booked(state.status() == Status.BOOKED)
+                    .lockedBy(state.holder())
+                    .lockedAt(state.lockedAt())
+                    .build();
+        }
+    }
+}
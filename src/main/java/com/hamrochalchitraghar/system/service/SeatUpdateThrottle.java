@@ -0,0 +1,51 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.SeatUpdateProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token bucket per WebSocket session for client-originated seat updates.
+ * A session may spend up to {@code burst} updates at once and earns them back
+ * at {@code permitsPerSecond}; anything beyond that is dropped.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatUpdateThrottle {
+
+    private final SeatUpdateProperties properties;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public boolean tryAcquire(String sessionId) {
+        return buckets.computeIfAbsent(sessionId, id -> new TokenBucket(properties.burst()))
+                .tryAcquire(properties.burst(), properties.permitsPerSecond(), System.nanoTime());
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        buckets.remove(event.getSessionId());
+    }
+
+    static final class TokenBucket {
+        private double tokens;
+        private long refilledAt = System.nanoTime();
+
+        TokenBucket(int burst) {
+            this.tokens = burst;
+        }
+
+        synchronized boolean tryAcquire(int burst, double permitsPerSecond, long now) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) / 1e9 * permitsPerSecond);
+            refilledAt = now;
+            if (tokens < 1) return false;
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.dto.ScheduledShow;
+import com.hamrochalchitraghar.system.dto.ShowRequest;
+import com.hamrochalchitraghar.system.model.HallLayout;
+import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.SeatZone;
+import com.hamrochalchitraghar.system.model.Show;
+import com.hamrochalchitraghar.system.model.enums.SeatType;
+import com.hamrochalchitraghar.system.repository.HallLayoutRepository;
+import com.hamrochalchitraghar.system.repository.MovieRepository;
+import com.hamrochalchitraghar.system.repository.ShowRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Puts shows on the schedule and materializes their seats from the hall layout.
+ * Seat rows go out as JDBC batches (rewritten by the MySQL driver into multi-row
+ * inserts), since Hibernate cannot batch inserts into IDENTITY tables.
+ */
+@Service
+@RequiredArgsConstructor
+public class ShowSchedulingService {
+
+    private static final int SEAT_BATCH_SIZE = 1000;
+    private static final String INSERT_SEAT =
+            "INSERT INTO seats (show_id, seat_no, seat_type, booked, version) VALUES (?, ?, ?, false, 0)";
+
+    private final ShowRepository showRepository;
+    private final MovieRepository movieRepository;
+    private final HallLayoutRepository hallLayoutRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Schedules all shows and their seats in one transaction; nothing is saved if any
+     * movie or hall layout is missing.
+     */
+    @Transactional
+    public List<ScheduledShow> schedule(List<ShowRequest> requests) {
+        long start = System.currentTimeMillis();
+        validate(requests);
+
+        Map<Integer, HallLayout> layouts = hallLayoutRepository.findAll().stream()
+                .collect(Collectors.toMap(HallLayout::getHallNo, Function.identity()));
+        Map<Long, Movie> movies = movieRepository.findAllById(
+                        requests.stream().map(ShowRequest::movieId).collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+
+        List<Show> shows = new ArrayList<>();
+        for (ShowRequest request : requests) {
+            Movie movie = movies.get(request.movieId());
+            if (movie == null) {
+                throw new RuntimeException("Movie not found with ID: " + request.movieId());
+            }
+            if (!layouts.containsKey(request.hallNo())) {
+                throw new RuntimeException("No seat layout defined for hall " + request.hallNo());
+            }
+            shows.add(Show.builder()
+                    .movie(movie)
+                    .hallNo(request.hallNo())
+                    .showTime(request.showTime())
+                    .price(request.price())
+                    .build());
+        }
+        showRepository.saveAllAndFlush(shows);
+
+        List<Object[]> seats = new ArrayList<>();
+        for (Show show : shows) {
+            HallLayout layout = layouts.get(show.getHallNo());
+            for (int row = 1; row <= layout.getRowCount(); row++) {
+                SeatType type = layout.seatTypeFor(row);
+                for (int column = 1; column <= layout.getSeatsPerRow(); column++) {
+                    seats.add(new Object[]{show.getId(), HallLayout.seatNo(row, column), type.name()});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SEAT, seats, SEAT_BATCH_SIZE, (ps, seat) -> {
+            ps.setLong(1, (Long) seat[0]);
+            ps.setString(2, (String) seat[1]);
+            ps.setString(3, (String) seat[2]);
+        });
+
+        System.out.println("🎬 Scheduled " + shows.size() + " show(s) with " + seats.size() + " seat(s) in "
+                + (System.currentTimeMillis() - start) + " ms");
+        return shows.stream()
+                .map(s -> new ScheduledShow(s.getId(), s.getMovie().getTitle(), s.getHallNo(), s.getShowTime(), s.getPrice()))
+                .toList();
+    }
+
+    public List<HallLayout> getLayouts() {
+        return hallLayoutRepository.findAll(Sort.by("hallNo"));
+    }
+
+    /**
+     * Creates or replaces a hall's layout; shows already scheduled keep their seats.
+     */
+    @Transactional
+    public HallLayout saveLayout(int hallNo, HallLayout layout) {
+        if (layout == null || layout.getRowCount() <= 0 || layout.getSeatsPerRow() <= 0) {
+            throw new RuntimeException("A hall needs at least one row and one seat per row.");
+        }
+        validateZones(layout);
+        HallLayout target = hallLayoutRepository.findByHallNo(hallNo).orElseGet(HallLayout::new);
+        target.setHallNo(hallNo);
+        target.setRowCount(layout.getRowCount());
+        target.setSeatsPerRow(layout.getSeatsPerRow());
+        target.setZones(layout.getZones() == null ? new ArrayList<>() : new ArrayList<>(layout.getZones()));
+        return hallLayoutRepository.save(target);
+    }
+
+    /**
+     * Rejects the whole batch on the first incomplete request, naming its 1-based position.
+     */
+    private static void validate(List<ShowRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new RuntimeException("No shows to schedule.");
+        }
+        for (int i = 0; i < requests.size(); i++) {
+            ShowRequest request = requests.get(i);
+            String show = "Show " + (i + 1) + ": ";
+            if (request == null) {
+                throw new RuntimeException(show + "request is empty.");
+            }
+            if (request.movieId() == null) {
+                throw new RuntimeException(show + "movieId is required.");
+            }
+            if (request.hallNo() == null) {
+                throw new RuntimeException(show + "hallNo is required.");
+            }
+            if (request.showTime() == null) {
+                throw new RuntimeException(show + "showTime is required.");
+            }
+            if (request.price() == null || request.price() <= 0) {
+                throw new RuntimeException(show + "price must be greater than zero.");
+            }
+        }
+    }
+
+    /**
+     * Zones must lie inside the hall, have a seat type and not share rows.
+     */
+    private static void validateZones(HallLayout layout) {
+        if (layout.getZones() == null) return;
+        List<SeatZone> zones = new ArrayList<>(layout.getZones());
+        for (SeatZone zone : zones) {
+            if (zone == null || zone.getSeatType() == null) {
+                throw new RuntimeException("Every zone needs a seat type.");
+            }
+            if (zone.getFirstRow() < 1 || zone.getLastRow() < zone.getFirstRow() || zone.getLastRow() > layout.getRowCount()) {
+                throw new RuntimeException("Zone rows " + zone.getFirstRow() + "-" + zone.getLastRow()
+                        + " must lie within rows 1-" + layout.getRowCount() + ".");
+            }
+        }
+        zones.sort(Comparator.comparingInt(SeatZone::getFirstRow));
+        for (int i = 1; i < zones.size(); i++) {
+            SeatZone previous = zones.get(i - 1);
+            SeatZone zone = zones.get(i);
+            if (zone.getFirstRow() <= previous.getLastRow()) {
+                throw new RuntimeException("Zone rows " + previous.getFirstRow() + "-" + previous.getLastRow()
+                        + " and " + zone.getFirstRow() + "-" + zone.getLastRow() + " overlap.");
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.hamrochalchitraghar.system.service;
+
+/**
+ * A printer a spooled job is sent to.
+ */
+public interface TicketPrinter {
+
+    String name();
+
+    void print(byte[] document) throws Exception;
+}
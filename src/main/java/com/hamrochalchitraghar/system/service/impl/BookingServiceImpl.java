@@ -1,17 +1,24 @@
 package com.hamrochalchitraghar.system.service.impl;
 
+import com.hamrochalchitraghar.system.dto.SeatHold;
+import com.hamrochalchitraghar.system.event.BookingChangedEvent;
+import com.hamrochalchitraghar.system.event.SeatStateChangedEvent;
 import com.hamrochalchitraghar.system.model.*;
 import com.hamrochalchitraghar.system.model.enums.*;
 import com.hamrochalchitraghar.system.repository.*;
 import com.hamrochalchitraghar.system.service.BookingService;
 import com.hamrochalchitraghar.system.service.EmailService;
-import com.hamrochalchitraghar.system.service.SeatBroadcastService;
+import com.hamrochalchitraghar.system.service.ErrorLogService;
+import com.hamrochalchitraghar.system.service.SeatStateService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -22,38 +29,50 @@ public class BookingServiceImpl implements BookingService {
     private final ShowRepository showRepository;
     private final SeatRepository seatRepository;
     private final BookingRepository bookingRepository;
-    private final ErrorLogRepository errorLogRepository;
+    private final BookingSeatRepository bookingSeatRepository;
+    private final BookingRequestKeyRepository bookingRequestKeyRepository;
+    private final ErrorLogService errorLogService;
     private final EmailService emailService;
-    private final SeatBroadcastService seatBroadcastService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SeatStateService seatStateService;
 
     /**
-     * Fetch all currently available (not booked or locked) seats for a show.
+     * Fetch all currently available (not booked or held) seats for a show.
+     * Served from the in-memory seat map; MySQL is only read on first access.
      */
     @Override
     public List<Seat> getAvailableSeats(Long showId) {
-        LocalDateTime now = LocalDateTime.now();
-        return seatRepository.findByShowId(showId).stream()
-                .filter(seat -> !seat.isBooked())
-                .filter(seat -> seat.getLockedAt() == null || seat.getLockedAt().isBefore(now.minusMinutes(10)))
-                .toList();
+        return seatStateService.getAvailableSeats(showId);
     }
 
     /**
-     * Temporarily lock selected seats to prevent double booking during checkout.
+     * Hold selected seats for the configured TTL so nobody else can book them during checkout.
+     * Calling it again for the same holder renews the deadline; renewals are not broadcast.
      */
+    @Override
     @Transactional
-    public void lockSeats(Long showId, List<String> seatNumbers, String lockedBy) {
-        LocalDateTime now = LocalDateTime.now();
-        List<Seat> seatsToLock = seatRepository.findByShowId(showId).stream()
-                .filter(seat -> seatNumbers.contains(seat.getSeatNo()))
-                .filter(seat -> !seat.isBooked())
-                .toList();
-
-        for (Seat seat : seatsToLock) {
-            seat.setLockedBy(lockedBy);
-            seat.setLockedAt(now);
+    public SeatHold holdSeats(Long showId, List<String> seatNumbers, String holder) {
+        SeatStateService.SeatClaim hold = seatStateService.hold(showId, seatNumbers, holder);
+        seatRepository.holdSeats(showId, hold.seatNumbers(), holder, LocalDateTime.now());
+        List<String> changed = hold.changedSeatNumbers();
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new SeatStateChangedEvent(showId, changed, SeatStatus.LOCKED));
+        }
+        return new SeatHold(showId, hold.seatNumbers(), hold.expiresAt());
+    }
+
+    /**
+     * Give held seats back to the pool straight away instead of waiting for expiry.
+     */
+    @Override
+    @Transactional
+    public void releaseSeats(Long showId, List<String> seatNumbers, String holder) {
+        List<String> released = seatStateService.release(showId, seatNumbers, holder);
+        seatRepository.releaseSeats(showId, seatNumbers, holder);
+        if (!released.isEmpty()) {
+            eventPublisher.publishEvent(new SeatStateChangedEvent(showId, released, SeatStatus.AVAILABLE));
+            System.out.println("🔓 Released " + released.size() + " held seat(s) for Show ID: " + showId);
         }
-        seatRepository.saveAll(seatsToLock);
     }
 
     /**
@@ -62,7 +81,8 @@ public class BookingServiceImpl implements BookingService {
      */
     @Override
     @Transactional
-    public Booking bookSeats(Long customerId, Long showId, List<String> seatNumbers, BookingChannel channel) {
+    public Booking bookSeats(Long customerId, Long showId, List<String> seatNumbers, BookingChannel channel, String holder,
+                             String requestKey) {
 
         LocalDateTime now = LocalDateTime.now();
 
@@ -78,36 +98,27 @@ public class BookingServiceImpl implements BookingService {
             }
 
             // 2️⃣ Validate Show
-            Show show = showRepository.findById(showId)
+            Show show = showRepository.findWithMovieById(showId)
                     .orElseThrow(() -> new RuntimeException("Show not found with ID: " + showId));
 
-            // 3️⃣ Fetch and Lock Seats (pessimistic lock)
-            List<Seat> requestedSeats = seatRepository.findSeatsForUpdate(showId, seatNumbers)
-                    .stream()
-                    .filter(seat -> seatNumbers.contains(seat.getSeatNo()))
-                    .toList();
+            // 3️⃣ Claim Seats in memory (per-seat CAS, rejects contenders without touching MySQL)
+            SeatStateService.SeatClaim claim = seatStateService.claim(showId, seatNumbers, holder);
 
-            if (requestedSeats.isEmpty()) {
-                throw new RuntimeException("No valid seats found for this show!");
-            }
-
-            // 4️⃣ Validate Seat Availability
+            // 4️⃣ Fetch Seats and re-check durable state (another node may have booked them)
+            List<Seat> requestedSeats = seatRepository.findByShowIdAndSeatNoIn(showId, seatNumbers);
             for (Seat seat : requestedSeats) {
                 if (seat.isBooked()) {
                     throw new RuntimeException("Seat " + seat.getSeatNo() + " is already booked.");
                 }
-                if (seat.getLockedAt() != null && seat.getLockedAt().isAfter(now.minusMinutes(10))) {
-                    throw new RuntimeException("Seat " + seat.getSeatNo() + " is temporarily locked. Please refresh.");
-                }
             }
 
-            // 5️⃣ Mark Seats as Booked
+            // 5️⃣ Mark Seats as Booked (optimistic version check on flush)
             for (Seat seat : requestedSeats) {
                 seat.setBooked(true);
                 seat.setLockedBy(channel.name());
                 seat.setLockedAt(now);
             }
-            seatRepository.saveAll(requestedSeats);
+            seatRepository.saveAllAndFlush(requestedSeats);
 
             // 6️⃣ Create Booking Record
             Booking booking = Booking.builder()
@@ -118,38 +129,38 @@ public class BookingServiceImpl implements BookingService {
                     .channel(channel)
                     .status(BookingStatus.BOOKED)
                     .build();
+            List<BookingSeat> bookingSeats = new ArrayList<>();
+            for (Seat seat : requestedSeats) {
+                bookingSeats.add(BookingSeat.builder().booking(booking).seat(seat).build());
+            }
+            booking.setSeats(bookingSeats);
 
             bookingRepository.save(booking);
-
-            // 7️⃣ Send Email Confirmation
-            boolean emailSent = false;
-            try {
-                if (customer != null && customer.getEmail() != null && !customer.getEmail().isBlank()) {
-                    emailService.sendBookingConfirmation(booking);
-                    emailSent = true;
-                } else {
-                    System.out.println("⚠️ Skipped email: No valid customer email found.");
-                }
-            } catch (Exception e) {
-                logError("EmailService", e, customerId);
+            if (requestKey != null) {
+                // Unique key: a second booking under the same key rolls back here, on any node
+                bookingRequestKeyRepository.save(BookingRequestKey.builder()
+                        .requestKey(requestKey)
+                        .bookingId(booking.getId())
+                        .showId(showId)
+                        .createdAt(now)
+                        .build());
             }
-
-            // (Optional Tracking)
-            if (!emailSent) {
-                System.out.println("⚠️ Email delivery failed or skipped for booking ID " + booking.getId());
+            eventPublisher.publishEvent(new BookingChangedEvent(showId, show.getMovie().getTitle(), now.toLocalDate(),
+                    bookingSeats.size(), show.getPrice() * bookingSeats.size(), BookingStatus.BOOKED));
+
+            // 7️⃣ Queue Email Confirmation (outbox row in this transaction, sent after commit)
+            if (customer != null && customer.getEmail() != null && !customer.getEmail().isBlank()) {
+                emailService.queueBookingConfirmation(booking);
+            } else {
+                System.out.println("⚠️ Skipped email: No valid customer email found.");
             }
 
-            // 8️⃣ WebSocket Broadcast (Seat Update)
-            try {
-                seatBroadcastService.sendSeatUpdate(showId, requestedSeats);
-                System.out.println("📡 WebSocket broadcast sent for Show ID: " + showId);
-            } catch (Exception e) {
-                logError("SeatBroadcastService", e, customerId);
-            }
+            // 8️⃣ WebSocket Broadcast (Seat Update, published only after commit)
+            eventPublisher.publishEvent(new SeatStateChangedEvent(showId, claim.seatNumbers(), SeatStatus.BOOKED));
 
             return booking;
 
-        } catch (DataIntegrityViolationException e) {
+        } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
             logError("BookingService", e, customerId);
             throw new RuntimeException("One or more selected seats are no longer available. Please refresh and retry.");
         } catch (RuntimeException e) {
@@ -168,7 +179,7 @@ public class BookingServiceImpl implements BookingService {
     @Transactional
     public void cancelBooking(Long bookingId) {
         try {
-            Booking booking = bookingRepository.findById(bookingId)
+            Booking booking = bookingRepository.findWithShowById(bookingId)
                     .orElseThrow(() -> new RuntimeException("Booking not found!"));
 
             if (booking.getStatus() == BookingStatus.CANCELLED) {
@@ -185,11 +196,13 @@ public class BookingServiceImpl implements BookingService {
             booking.setCancellationReason("User requested cancellation");
             bookingRepository.saveAndFlush(booking);
 
-            // 3️⃣ Release Seats
-            List<String> seatNumbers = List.of(booking.getSeatNo().split(","));
-            List<Seat> seats = seatRepository.findByShowId(booking.getShow().getId()).stream()
-                    .filter(seat -> seatNumbers.contains(seat.getSeatNo()))
-                    .toList();
+            // 3️⃣ Release Seats (indexed lookup through booking_seats)
+            List<Seat> seats = bookingSeatRepository.findSeatsByBookingId(bookingId);
+            List<String> seatNumbers = seats.stream().map(Seat::getSeatNo).toList();
+            Show show = booking.getShow();
+            eventPublisher.publishEvent(new BookingChangedEvent(show.getId(), show.getMovie().getTitle(),
+                    booking.getBookingTime().toLocalDate(), seats.size(), show.getPrice() * seats.size(),
+                    BookingStatus.CANCELLED));
 
             for (Seat seat : seats) {
                 seat.setBooked(false);
@@ -197,15 +210,11 @@ public class BookingServiceImpl implements BookingService {
                 seat.setLockedAt(null);
             }
             seatRepository.saveAll(seats);
+            seatStateService.markReleased(booking.getShow().getId(), seatNumbers);
 
-            // 4️⃣ Broadcast Seat Unlock Event
-            try {
-                seatBroadcastService.sendSeatUpdate(booking.getShow().getId(), seats);
-                System.out.println("📡 Seat unlock broadcast sent for cancelled booking ID: " + bookingId);
-            } catch (Exception e) {
-                logError("SeatBroadcastService", e,
-                        booking.getCustomer() != null ? booking.getCustomer().getId() : null);
-            }
+            // 4️⃣ Broadcast Seat Unlock Event (published only after commit)
+            eventPublisher.publishEvent(new SeatStateChangedEvent(booking.getShow().getId(),
+                    seatNumbers, SeatStatus.AVAILABLE));
 
             System.out.println("🔁 Booking " + bookingId + " cancelled by " + actor + ".");
 
@@ -216,16 +225,13 @@ public class BookingServiceImpl implements BookingService {
     }
 
     /**
-     * Centralized database-backed error logger with source & user context.
+     * Queues the error with source & user context; it is written after, and regardless of,
+     * the rollback of the failing booking transaction.
      */
     private void logError(String source, Exception e, Long customerId) {
-        ErrorLog log = ErrorLog.builder()
-                .source(source + (customerId != null ? " (Customer ID: " + customerId + ")" : ""))
-                .message(e.getMessage())
-                .stackTrace(getStackTraceSnippet(e))
-                .timestamp(LocalDateTime.now())
-                .build();
-        errorLogRepository.save(log);
+        errorLogService.logError(source,
+                e.getMessage() + (customerId != null ? " (Customer ID: " + customerId + ")" : ""),
+                getStackTraceSnippet(e));
     }
 
     /**
@@ -1,26 +1,174 @@
 package com.hamrochalchitraghar.system.service.impl;
 
+import com.hamrochalchitraghar.system.config.PrintSpoolerProperties;
+import com.hamrochalchitraghar.system.dto.PrintJob;
 import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.enums.PrintJobStatus;
+import com.hamrochalchitraghar.system.service.ErrorLogService;
 import com.hamrochalchitraghar.system.service.PrintService;
+import com.hamrochalchitraghar.system.service.PrinterLookup;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import javax.print.*;
-import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Print spooler for box-office tickets. Tickets are rendered on the request thread, then queued
+ * per printer; one worker at a time drains a printer's queue on the print executor, so jobs come
+ * out in order and a slow or offline printer never holds up the booking request.
+ * All tickets of a booking go out as one job. Failed jobs are retried with exponential backoff.
+ */
 @Service
 public class PrintServiceImpl implements PrintService {
 
+    private final PrinterLookup printerLookup;
+    private final ErrorLogService errorLogService;
+    private final PrintSpoolerProperties properties;
+    private final TaskExecutor printExecutor;
+
+    private final Map<String, PrintJob> jobs = new ConcurrentHashMap<>();
+    private final Map<Long, String> jobIdsByBooking = new ConcurrentHashMap<>();
+    private final Map<String, PrinterQueue> queues = new ConcurrentHashMap<>();
+
+    public PrintServiceImpl(PrinterLookup printerLookup,
+                            ErrorLogService errorLogService,
+                            PrintSpoolerProperties properties,
+                            @Qualifier("printExecutor") TaskExecutor printExecutor) {
+        this.printerLookup = printerLookup;
+        this.errorLogService = errorLogService;
+        this.properties = properties;
+        this.printExecutor = printExecutor;
+    }
+
+    @Override
+    public PrintJob printTicket(Booking booking) {
+        String printer = printerLookup.defaultPrinter();
+        List<String> seats = Arrays.stream(booking.getSeatNo().split(",")).map(String::trim).toList();
+        byte[] document = render(booking, seats);
+
+        PrintJob job = new PrintJob(UUID.randomUUID().toString(), booking.getId(), printer, seats.size(),
+                PrintJobStatus.QUEUED, 0, null, LocalDateTime.now(), null);
+        PrinterQueue queue = queues.computeIfAbsent(printer, PrinterQueue::new);
+        jobs.put(job.id(), job);
+        if (!queue.pending.offer(new QueuedJob(job.id(), document))) {
+            jobs.remove(job.id());
+            throw new TaskRejectedException("Print queue is full. Please reprint the ticket shortly.");
+        }
+        jobIdsByBooking.put(booking.getId(), job.id());
+        wakeUp(queue);
+        return job;
+    }
+
     @Override
-    public void printTicket(Booking booking) {
+    public Optional<PrintJob> find(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Override
+    public Optional<PrintJob> findLatestForBooking(Long bookingId) {
+        return Optional.ofNullable(jobIdsByBooking.get(bookingId)).map(jobs::get);
+    }
+
+    /**
+     * Safety net for queues whose worker could not be started (print executor saturated).
+     */
+    @Scheduled(fixedDelay = 30000)
+    public void drainStalledQueues() {
+        queues.values().stream().filter(queue -> !queue.pending.isEmpty()).forEach(this::wakeUp);
+    }
+
+    /**
+     * Drops jobs that finished longer ago than the retention period.
+     */
+    @Scheduled(fixedRate = 3_600_000)
+    public void purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.retention());
+        jobs.values().stream()
+                .filter(job -> job.finishedAt() != null && job.finishedAt().isBefore(cutoff))
+                .toList()
+                .forEach(job -> {
+                    jobs.remove(job.id());
+                    jobIdsByBooking.remove(job.bookingId(), job.id());
+                });
+    }
+
+    private void wakeUp(PrinterQueue queue) {
+        if (!queue.draining.compareAndSet(false, true)) return;
         try {
-            String ticketContent = """
+            printExecutor.execute(() -> drain(queue));
+        } catch (TaskRejectedException e) {
+            queue.draining.set(false);
+            System.out.println("⚠️ Print executor busy; printer " + queue.printer + " is drained later.");
+        }
+    }
+
+    private void drain(PrinterQueue queue) {
+        try {
+            QueuedJob next;
+            while ((next = queue.pending.poll()) != null) {
+                print(queue.printer, next);
+            }
+        } finally {
+            queue.draining.set(false);
+        }
+        // A job queued between the last poll and releasing the flag would otherwise wait for the safety net
+        if (!queue.pending.isEmpty()) wakeUp(queue);
+    }
+
+    private void print(String printer, QueuedJob queued) {
+        String jobId = queued.jobId();
+        for (int attempt = 1; attempt <= properties.maxAttempts(); attempt++) {
+            int attempts = attempt;
+            jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(PrintJobStatus.PRINTING, attempts, job.error()));
+            try {
+                printerLookup.find(printer).print(queued.document());
+                jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(PrintJobStatus.DONE, attempts, null));
+                System.out.println("🖨️ Ticket printed successfully for print job: " + jobId);
+                return;
+            } catch (Exception e) {
+                printerLookup.invalidate(printer);
+                String error = e.getMessage();
+                if (attempt == properties.maxAttempts()) {
+                    jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(PrintJobStatus.FAILED, attempts, error));
+                    errorLogService.logError("PrintService",
+                            "Print job " + jobId + " failed on " + printer + " | " + error, null);
+                    return;
+                }
+                jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(PrintJobStatus.RETRYING, attempts, error));
+                try {
+                    Thread.sleep(properties.retryBackoff().multipliedBy(1L << (attempt - 1)).toMillis());
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    jobs.computeIfPresent(jobId, (id, job) -> job.withStatus(PrintJobStatus.FAILED, attempts, error));
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * One ticket per seat, separated by form feeds so the printer cuts between them.
+     */
+    private byte[] render(Booking booking, List<String> seats) {
+        StringBuilder document = new StringBuilder();
+        for (String seat : seats) {
+            if (!document.isEmpty()) document.append('\f');
+            document.append("""
                     🎬 Hamro Chalchitraghar
                     ----------------------------
                     Movie: %s
                     Show Time: %s
                     Hall: %s
-                    Seats: %s
+                    Seat: %s
                     Booking ID: %d
                     ----------------------------
                     Thank you for visiting!
@@ -28,30 +176,23 @@ public class PrintServiceImpl implements PrintService {
                     booking.getShow().getMovie().getTitle(),
                     booking.getShow().getShowTime(),
                     booking.getShow().getHallNo(),
-                    booking.getSeatNo(),
+                    seat,
                     booking.getId()
-            );
-
-            // Convert to byte stream for printer
-            byte[] bytes = ticketContent.getBytes(StandardCharsets.UTF_8);
-            ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
+            ));
+        }
+        return document.toString().getBytes(StandardCharsets.UTF_8);
+    }
 
-            // Locate the default printer
-            javax.print.PrintService printer = PrintServiceLookup.lookupDefaultPrintService();
-            if (printer == null) {
-                System.err.println("⚠️ No printer found.");
-                return;
-            }
+    private record QueuedJob(String jobId, byte[] document) {
+    }
 
-            DocFlavor flavor = DocFlavor.INPUT_STREAM.AUTOSENSE;
-            Doc doc = new SimpleDoc(inputStream, flavor, null);
-            DocPrintJob job = printer.createPrintJob();
-            job.print(doc, null);
+    private final class PrinterQueue {
+        private final String printer;
+        private final BlockingQueue<QueuedJob> pending = new ArrayBlockingQueue<>(properties.queueCapacity());
+        private final AtomicBoolean draining = new AtomicBoolean();
 
-            System.out.println("🖨️ Ticket printed successfully for booking ID: " + booking.getId());
-        } catch (Exception e) {
-            e.printStackTrace();
-            System.err.println("❌ Failed to print ticket: " + e.getMessage());
+        private PrinterQueue(String printer) {
+            this.printer = printer;
         }
     }
 }
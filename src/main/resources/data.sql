@@ -3,9 +3,9 @@ INSERT INTO customers (name, email, password, role)
 VALUES ('John Doe', 'john@example.com', '$2a$12$h9aVYmAyA5I5mS0ew0dR7uZUQekB2TH9MeSRpf3tBqHRMZgzSKSY2', 'CUSTOMER');
 
 -- Sample Movies
-INSERT INTO movies (title, genre, duration, language, poster_url)
-VALUES ('K G F Chapter 2', 'Action', 155, 'Nepali Dub', 'https://example.com/kgf2.jpg'),
-       ('12th Fail', 'Drama', 147, 'Hindi', 'https://example.com/12thfail.jpg');
+INSERT INTO movies (title, genre, duration, language, poster_url, status)
+VALUES ('K G F Chapter 2', 'Action', 155, 'Nepali Dub', 'https://example.com/kgf2.jpg', 'NOW_SHOWING'),
+       ('12th Fail', 'Drama', 147, 'Hindi', 'https://example.com/12thfail.jpg', 'NOW_SHOWING');
 
 -- Sample Shows
 INSERT INTO shows (movie_id, hall_no, show_time, price)
@@ -18,3 +18,12 @@ INSERT INTO seats (show_id, seat_no, booked)
 VALUES
     (1, 'A1', FALSE), (1, 'A2', FALSE), (1, 'A3', FALSE),
     (1, 'B1', FALSE), (1, 'B2', FALSE), (1, 'B3', FALSE);
+
+-- Sample Hall Layouts (new shows get their seats from these)
+INSERT INTO hall_layouts (hall_no, row_count, seats_per_row)
+VALUES (1, 15, 20),
+       (2, 12, 16);
+
+INSERT INTO hall_layout_zones (layout_id, first_row, last_row, seat_type)
+VALUES (1, 11, 14, 'PREMIUM'), (1, 15, 15, 'VIP'),
+       (2, 10, 12, 'PREMIUM');
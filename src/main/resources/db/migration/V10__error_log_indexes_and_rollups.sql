@@ -0,0 +1,12 @@
+-- The error viewer pages by id and filters by source; retention and rollups range over timestamp
+CREATE INDEX idx_error_logs_timestamp ON error_logs (timestamp);
+CREATE INDEX idx_error_logs_source_timestamp ON error_logs (source, timestamp);
+
+CREATE TABLE error_log_rollups (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    period_start DATETIME(6) NOT NULL,
+    source       VARCHAR(255),
+    occurrences  BIGINT      NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_error_log_rollups_period_source UNIQUE (period_start, source)
+) ENGINE = InnoDB;
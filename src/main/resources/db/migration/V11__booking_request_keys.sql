@@ -0,0 +1,12 @@
+-- Request keys of booking submissions; a repeated key returns the booking it created
+CREATE TABLE booking_request_keys (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    request_key VARCHAR(64) NOT NULL,
+    booking_id  BIGINT,
+    show_id     BIGINT,
+    created_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_booking_request_keys_request_key UNIQUE (request_key)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_booking_request_keys_created_at ON booking_request_keys (created_at);
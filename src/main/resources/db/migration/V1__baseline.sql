@@ -0,0 +1,75 @@
+-- Schema as created by ddl-auto=update before migrations existed, down to Hibernate's generated
+-- constraint names. Existing databases are baselined at this version
+-- (spring.flyway.baseline-on-migrate) and only run the migrations after it, so this script must
+-- not change: anything new goes into a later version.
+
+CREATE TABLE customers (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    active     BIT(1)       NOT NULL,
+    created_at DATETIME(6),
+    email      VARCHAR(255) NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    password   VARCHAR(255) NOT NULL,
+    phone      VARCHAR(15),
+    role       ENUM ('ADMIN','CUSTOMER','STAFF'),
+    PRIMARY KEY (id),
+    CONSTRAINT UKrfbvkrffamfql7cjmen8v976v UNIQUE (email)
+) ENGINE = InnoDB;
+
+CREATE TABLE movies (
+    id         BIGINT  NOT NULL AUTO_INCREMENT,
+    duration   INTEGER NOT NULL,
+    genre      VARCHAR(255),
+    language   VARCHAR(255),
+    poster_url VARCHAR(255),
+    status     ENUM ('COMING_SOON','ENDED','NOW_SHOWING'),
+    title      VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE shows (
+    id        BIGINT  NOT NULL AUTO_INCREMENT,
+    hall_no   INTEGER NOT NULL,
+    price     DOUBLE  NOT NULL,
+    show_time DATETIME(6),
+    movie_id  BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FKqdpwhiv5r3lx844pct0eudapk FOREIGN KEY (movie_id) REFERENCES movies (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE seats (
+    id        BIGINT NOT NULL AUTO_INCREMENT,
+    booked    BIT(1) NOT NULL,
+    locked_at DATETIME(6),
+    locked_by VARCHAR(255),
+    seat_no   VARCHAR(255),
+    seat_type ENUM ('PREMIUM','REGULAR','VIP'),
+    show_id   BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FKi0mr20gpj1nedoufqq21a50es FOREIGN KEY (show_id) REFERENCES shows (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE bookings (
+    id                  BIGINT NOT NULL AUTO_INCREMENT,
+    booking_time        DATETIME(6),
+    cancellation_reason VARCHAR(255),
+    cancelled_at        DATETIME(6),
+    cancelled_by        VARCHAR(255),
+    channel             ENUM ('BOX_OFFICE','ONLINE'),
+    seat_no             VARCHAR(255),
+    status              ENUM ('BOOKED','CANCELLED','PENDING'),
+    customer_id         BIGINT,
+    show_id             BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT FKbvfibgflhsb0g2hnjauiv5khs FOREIGN KEY (customer_id) REFERENCES customers (id),
+    CONSTRAINT FK5f9847fuaqx7qe2xug4e5pky1 FOREIGN KEY (show_id) REFERENCES shows (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE error_logs (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    message     VARCHAR(255),
+    source      VARCHAR(255),
+    stack_trace VARCHAR(255),
+    timestamp   DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,6 @@
+-- Seats are claimed with a version check instead of row locks; existing rows start at version 0.
+-- (booked, locked_at) serves the bulk update that releases expired holds.
+ALTER TABLE seats
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_seats_booked_locked_at ON seats (booked, locked_at);
@@ -0,0 +1,17 @@
+-- Booking confirmation emails, written in the booking transaction and sent by the outbox dispatcher
+CREATE TABLE mail_outbox (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    booking_id      BIGINT,
+    recipient       VARCHAR(255) NOT NULL,
+    subject         VARCHAR(255),
+    body            TEXT,
+    status          ENUM ('FAILED','PENDING','SENT'),
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at DATETIME(6),
+    last_error      VARCHAR(1000),
+    created_at      DATETIME(6),
+    sent_at         DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_mail_outbox_status_next_attempt ON mail_outbox (status, next_attempt_at);
@@ -0,0 +1,4 @@
+-- The admin booking report filters by booking time, status and show in the database
+CREATE INDEX idx_bookings_booking_time ON bookings (booking_time);
+CREATE INDEX idx_bookings_status ON bookings (status);
+CREATE INDEX idx_bookings_show_id ON bookings (show_id);
@@ -0,0 +1,2 @@
+-- The staff schedule and show listings range over show_time
+CREATE INDEX idx_shows_show_time ON shows (show_time);
@@ -0,0 +1,13 @@
+-- The seats of each booking; bookings.seat_no stays as the display label. Bookings made before
+-- this table existed are linked by BookingSeatBackfill on startup.
+CREATE TABLE booking_seats (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    booking_id BIGINT NOT NULL,
+    seat_id    BIGINT NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_booking_seats_booking_seat UNIQUE (booking_id, seat_id),
+    CONSTRAINT fk_booking_seats_booking FOREIGN KEY (booking_id) REFERENCES bookings (id),
+    CONSTRAINT fk_booking_seats_seat FOREIGN KEY (seat_id) REFERENCES seats (id)
+) ENGINE = InnoDB;
+
+CREATE INDEX idx_booking_seats_seat_id ON booking_seats (seat_id);
@@ -0,0 +1,17 @@
+-- Per-hall seat layouts that show seats are generated from; zones give the seat type by row range
+CREATE TABLE hall_layouts (
+    id            BIGINT  NOT NULL AUTO_INCREMENT,
+    hall_no       INTEGER NOT NULL,
+    row_count     INTEGER NOT NULL,
+    seats_per_row INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_hall_layouts_hall_no UNIQUE (hall_no)
+) ENGINE = InnoDB;
+
+CREATE TABLE hall_layout_zones (
+    layout_id BIGINT NOT NULL,
+    first_row INTEGER,
+    last_row  INTEGER,
+    seat_type ENUM ('PREMIUM','REGULAR','VIP'),
+    CONSTRAINT fk_hall_layout_zones_layout FOREIGN KEY (layout_id) REFERENCES hall_layouts (id)
+) ENGINE = InnoDB;
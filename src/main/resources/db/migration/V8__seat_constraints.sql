@@ -0,0 +1,38 @@
+-- One row per (show, seat number). Duplicates left by hand-inserted seats are merged into
+-- the oldest row first: it inherits the booked flag and every booking_seats link.
+
+CREATE TEMPORARY TABLE seat_keepers AS
+SELECT show_id, seat_no, MIN(id) AS keep_id, MAX(booked) AS booked
+FROM seats
+GROUP BY show_id, seat_no
+HAVING COUNT(*) > 1;
+
+UPDATE seats s
+    JOIN seat_keepers k ON s.id = k.keep_id
+SET s.booked = k.booked;
+
+-- IGNORE: a booking already linked to the kept row keeps that link; the stale one is deleted below
+UPDATE IGNORE booking_seats bs
+    JOIN seats s ON bs.seat_id = s.id
+    JOIN seat_keepers k ON s.show_id = k.show_id AND s.seat_no = k.seat_no
+SET bs.seat_id = k.keep_id
+WHERE s.id <> k.keep_id;
+
+DELETE bs
+FROM booking_seats bs
+    JOIN seats s ON bs.seat_id = s.id
+    JOIN seat_keepers k ON s.show_id = k.show_id AND s.seat_no = k.seat_no
+WHERE s.id <> k.keep_id;
+
+DELETE s
+FROM seats s
+    JOIN seat_keepers k ON s.show_id = k.show_id AND s.seat_no = k.seat_no
+WHERE s.id <> k.keep_id;
+
+DROP TEMPORARY TABLE seat_keepers;
+
+-- (show_id, seat_no) serves the seat-number lookups used when booking and holding;
+-- (show_id, booked) serves the available-seat query
+ALTER TABLE seats
+    ADD CONSTRAINT uk_seats_show_seat_no UNIQUE (show_id, seat_no),
+    ADD INDEX idx_seats_show_booked (show_id, booked);
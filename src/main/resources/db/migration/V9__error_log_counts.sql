@@ -0,0 +1,9 @@
+-- Error logs are written in batches and deduplicated: one row per source and message
+-- within the dedupe window, with how often and how recently it happened
+ALTER TABLE error_logs
+    MODIFY message VARCHAR(1000),
+    MODIFY stack_trace VARCHAR(2000),
+    ADD COLUMN last_seen DATETIME(6),
+    ADD COLUMN occurrences INTEGER NOT NULL DEFAULT 1;
+
+UPDATE error_logs SET last_seen = timestamp WHERE last_seen IS NULL;
@@ -0,0 +1,110 @@
+package com.hamrochalchitraghar.system;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flyway against a real MySQL: a database built by the code before migrations existed is
+ * baselined at V1, gets every later migration and passes ddl-auto=validate, and ends up with the
+ * same schema as an empty database migrated from V1. Drops every table in the given database
+ * first, so point it at a scratch one; it only runs when asked:
+ * <pre>
+ * mvn test -Dtest=MigrationBaselineTests -Dmigration.mysql.url=jdbc:mysql://localhost:3306/migration \
+ *     -Dmigration.mysql.user=root -Dmigration.mysql.password=...
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "migration.mysql.url", matches = ".+")
+class MigrationBaselineTests {
+
+    private final String url = System.getProperty("migration.mysql.url");
+    private final String user = System.getProperty("migration.mysql.user", "root");
+    private final String password = System.getProperty("migration.mysql.password", "");
+
+    private final JdbcTemplate jdbc = new JdbcTemplate(new SingleConnectionDataSource(url, user, password, true));
+
+    @Test
+    void legacyDatabaseIsBaselinedAndMigratedToTheFreshSchema() {
+        dropAllTables();
+        List<String> freshSchema;
+        try (ConfigurableApplicationContext context = start()) {
+            assertThat(currentVersion(context)).isEqualTo(latestVersion(context));
+            freshSchema = schema();
+        }
+
+        dropAllTables();
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/schema-474619e.sql"))
+                .execute(jdbc.getDataSource());
+        try (ConfigurableApplicationContext context = start()) {
+            assertThat(jdbc.queryForObject(
+                    "SELECT type FROM flyway_schema_history WHERE version = '1'", String.class)).isEqualTo("BASELINE");
+            assertThat(currentVersion(context)).isEqualTo(latestVersion(context));
+            assertThat(schema()).containsExactlyElementsOf(freshSchema);
+
+            // V8 merged the duplicate A1 into the oldest row; the backfill linked the legacy booking
+            assertThat(jdbc.queryForList("SELECT seat_no FROM seats WHERE show_id = 1 ORDER BY id", String.class))
+                    .containsExactly("A1", "A2", "A3");
+            assertThat(jdbc.queryForList("SELECT seat_id FROM booking_seats WHERE booking_id = 1 ORDER BY seat_id", Long.class))
+                    .containsExactly(1L, 4L);
+            assertThat(jdbc.queryForObject("SELECT occurrences FROM error_logs", Integer.class)).isEqualTo(1);
+        }
+        dropAllTables();
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(HamroChalchitragharSystemApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + user,
+                        "--spring.datasource.password=" + password,
+                        "--spring.jpa.show-sql=false");
+    }
+
+    private String currentVersion(ConfigurableApplicationContext context) {
+        return context.getBean(Flyway.class).info().current().getVersion().getVersion();
+    }
+
+    private String latestVersion(ConfigurableApplicationContext context) {
+        MigrationInfo[] migrations = context.getBean(Flyway.class).info().all();
+        return migrations[migrations.length - 1].getVersion().getVersion();
+    }
+
+    /** Columns and indexes of every table, one line each, in a stable order. */
+    private List<String> schema() {
+        List<String> lines = new ArrayList<>(jdbc.queryForList("""
+                SELECT CONCAT_WS(' ', table_name, column_name, column_type, is_nullable, IFNULL(column_default, '-'))
+                FROM information_schema.columns
+                WHERE table_schema = DATABASE() AND table_name <> 'flyway_schema_history'
+                ORDER BY table_name, column_name
+                """, String.class));
+        lines.addAll(jdbc.queryForList("""
+                SELECT CONCAT_WS(' ', table_name, index_name, non_unique, seq_in_index, column_name)
+                FROM information_schema.statistics
+                WHERE table_schema = DATABASE() AND table_name <> 'flyway_schema_history'
+                ORDER BY table_name, index_name, seq_in_index
+                """, String.class));
+        return lines;
+    }
+
+    private void dropAllTables() {
+        List<String> tables = jdbc.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = DATABASE()", String.class);
+        jdbc.execute("SET FOREIGN_KEY_CHECKS = 0");
+        for (String table : tables) {
+            jdbc.execute("DROP TABLE `" + table + "`");
+        }
+        jdbc.execute("SET FOREIGN_KEY_CHECKS = 1");
+    }
+}
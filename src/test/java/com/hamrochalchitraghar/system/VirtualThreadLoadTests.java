@@ -0,0 +1,104 @@
+package com.hamrochalchitraghar.system;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput and p99 latency of a DB-backed endpoint with platform Tomcat threads and with
+ * virtual threads plus the connection admission gate. Starts the application twice against a
+ * real MySQL (migrated by Flyway), so it only runs when asked:
+ * <pre>
+ * mvn test -Dtest=VirtualThreadLoadTests -Dbenchmark.mysql.url=jdbc:mysql://localhost:3306/bench \
+ *     -Dbenchmark.mysql.user=root -Dbenchmark.mysql.password=... [-Dloadtest.clients=1000]
+ * </pre>
+ */
+@EnabledIfSystemProperty(named = "benchmark.mysql.url", matches = ".+")
+class VirtualThreadLoadTests {
+
+    private static final String PATH = "/admin/layouts";
+    private static final int CLIENTS = Integer.getInteger("loadtest.clients", 1000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("loadtest.requests", 20);
+    private static final int WARMUP_REQUESTS = 500;
+
+    @Test
+    void platformVersusVirtualThreads() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.println("🧵 Load test: " + CLIENTS + " clients x " + REQUESTS_PER_CLIENT + " requests on GET " + PATH);
+        System.out.println("   platform: " + platform);
+        System.out.println("   virtual:  " + virtual);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HamroChalchitragharSystemApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.datasource.url=" + System.getProperty("benchmark.mysql.url"),
+                        "--spring.datasource.username=" + System.getProperty("benchmark.mysql.user", "root"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.mysql.password", ""),
+                        "--spring.jpa.show-sql=false")) {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            URI uri = URI.create("http://localhost:" + port + PATH);
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder().executor(clients).connectTimeout(Duration.ofSeconds(10)).build();
+                for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                    http.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+                }
+
+                AtomicInteger errors = new AtomicInteger();
+                long start = System.nanoTime();
+                List<Future<long[]>> futures = new ArrayList<>();
+                for (int c = 0; c < CLIENTS; c++) {
+                    futures.add(clients.submit(() -> {
+                        long[] latencies = new long[REQUESTS_PER_CLIENT];
+                        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                            long sent = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = http.send(HttpRequest.newBuilder(uri)
+                                        .timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() != 200) errors.incrementAndGet();
+                            } catch (Exception e) {
+                                errors.incrementAndGet();
+                            }
+                            latencies[i] = System.nanoTime() - sent;
+                        }
+                        return latencies;
+                    }));
+                }
+                long[] all = new long[CLIENTS * REQUESTS_PER_CLIENT];
+                int n = 0;
+                for (Future<long[]> future : futures) {
+                    for (long latency : future.get()) all[n++] = latency;
+                }
+                long elapsedNanos = System.nanoTime() - start;
+                Arrays.sort(all);
+                return new Result(all.length * 1_000_000_000.0 / elapsedNanos,
+                        all[all.length / 2] / 1_000_000.0, all[(int) (all.length * 0.99)] / 1_000_000.0, errors.get());
+            }
+        }
+    }
+
+    private record Result(double requestsPerSecond, double p50Ms, double p99Ms, int errors) {
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, %d errors", requestsPerSecond, p50Ms, p99Ms, errors);
+        }
+    }
+}
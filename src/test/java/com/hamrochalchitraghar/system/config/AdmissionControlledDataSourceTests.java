@@ -0,0 +1,86 @@
+package com.hamrochalchitraghar.system.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class AdmissionControlledDataSourceTests {
+
+    private final DataSource pool = mock(DataSource.class);
+
+    AdmissionControlledDataSourceTests() throws SQLException {
+        when(pool.getConnection()).thenAnswer(inv -> mock(Connection.class));
+    }
+
+    @Test
+    void closingTheConnectionReturnsThePermitOnce() throws SQLException {
+        AdmissionControlledDataSource gate = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        Connection connection = gate.getConnection();
+        assertThat(gate.available()).isZero();
+        connection.close();
+        connection.close();
+
+        assertThat(gate.available()).isEqualTo(1);
+    }
+
+    @Test
+    void waitingThreadGetsTheReleasedPermit() throws Exception {
+        AdmissionControlledDataSource gate = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofSeconds(5));
+        Connection first = gate.getConnection();
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Connection> second = threads.submit(() -> gate.getConnection());
+            while (gate.waiting() == 0) Thread.onSpinWait();
+            first.close();
+            assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+        }
+    }
+
+    @Test
+    void timesOutAndShedsLoadBeyondTheWaitingLimit() throws Exception {
+        AdmissionControlledDataSource gate = new AdmissionControlledDataSource(pool, 1, 1, Duration.ofMillis(50));
+        gate.getConnection();
+
+        assertThatThrownBy(gate::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        AdmissionControlledDataSource slow = new AdmissionControlledDataSource(pool, 1, 1, Duration.ofSeconds(5));
+        slow.getConnection();
+        CountDownLatch waiting = new CountDownLatch(1);
+        Thread.ofVirtual().start(() -> {
+            waiting.countDown();
+            try {
+                slow.getConnection();
+            } catch (SQLException ignored) {
+                // times out after the assertions
+            }
+        });
+        waiting.await();
+        while (slow.waiting() == 0) Thread.onSpinWait();
+
+        assertThatThrownBy(slow::getConnection).hasMessageContaining("Too many requests");
+        assertThat(gate.rejected() + slow.rejected()).isEqualTo(2);
+    }
+
+    @Test
+    void failedPoolCheckoutDoesNotLeakThePermit() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool down"));
+        AdmissionControlledDataSource gate = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        assertThatThrownBy(gate::getConnection).hasMessage("pool down");
+        assertThat(gate.available()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,154 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.BookingReportRow;
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.Show;
+import com.hamrochalchitraghar.system.model.enums.BookingChannel;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The admin report's filters and its keyset paging on {@code ?before=<id>}.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+class BookingReportRepositoryTests {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 10, 1);
+    private static final int PAGE_SIZE = 7;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        List<Show> shows = new ArrayList<>();
+        for (String title : List.of("Kabaddi", "Chhakka Panja")) {
+            Movie movie = Movie.builder().title(title).duration(120).build();
+            entityManager.persist(movie);
+            Show show = Show.builder().movie(movie).hallNo(1)
+                    .showTime(FIRST_DAY.plusDays(20).atTime(18, 0)).price(300).build();
+            entityManager.persist(show);
+            shows.add(show);
+        }
+        // 30 bookings over ten days, both movies, every status; the last one of each day at 23:59
+        for (int i = 0; i < 30; i++) {
+            Booking booking = Booking.builder()
+                    .show(shows.get(i % 2))
+                    .seatNo("A" + (i + 1))
+                    .bookingTime(FIRST_DAY.plusDays(i / 3).atTime(i % 3 == 2 ? 23 : 10 + i % 3, i % 3 == 2 ? 59 : 0))
+                    .channel(BookingChannel.BOX_OFFICE)
+                    .status(BookingStatus.values()[i % BookingStatus.values().length])
+                    .build();
+            entityManager.persist(booking);
+            bookings.add(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void pagesWalkEveryRowOnceNewestFirst() {
+        List<Long> seen = readAllPages(new BookingReportFilter(null, null, null, null));
+
+        assertThat(seen).containsExactlyElementsOf(expectedIds(b -> true));
+        assertThat(seen).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void pageHoldsAtMostTheLimitAndStartsBelowTheCursor() {
+        BookingReportFilter all = new BookingReportFilter(null, null, null, null);
+        List<BookingReportRow> first = bookingRepository.findReportPage(all, null, PAGE_SIZE);
+        Long cursor = first.getLast().id();
+        List<BookingReportRow> second = bookingRepository.findReportPage(all, cursor, PAGE_SIZE);
+
+        assertThat(first).hasSize(PAGE_SIZE);
+        assertThat(first.getFirst().id()).isEqualTo(bookings.getLast().getId());
+        assertThat(second).hasSize(PAGE_SIZE).allSatisfy(row -> assertThat(row.id()).isLessThan(cursor));
+        assertThat(second.getFirst().id()).isEqualTo(expectedIds(b -> true).get(PAGE_SIZE));
+        assertThat(bookingRepository.findReportPage(all, bookings.getFirst().getId(), PAGE_SIZE)).isEmpty();
+    }
+
+    @Test
+    void dateRangeIncludesBothEndDaysUpToMidnight() {
+        LocalDate start = FIRST_DAY.plusDays(2);
+        LocalDate end = FIRST_DAY.plusDays(4);
+
+        List<Long> seen = readAllPages(new BookingReportFilter(start, end, null, null));
+
+        assertThat(seen).hasSize(9).containsExactlyElementsOf(expectedIds(b ->
+                !b.getBookingTime().toLocalDate().isBefore(start) && !b.getBookingTime().toLocalDate().isAfter(end)));
+    }
+
+    @Test
+    void movieMatchesTheTitleIgnoringCase() {
+        List<BookingReportRow> rows = new ArrayList<>();
+        for (Long before = null; ; ) {
+            List<BookingReportRow> page = bookingRepository.findReportPage(
+                    new BookingReportFilter(null, null, "kabaddi", null), before, PAGE_SIZE);
+            rows.addAll(page);
+            if (page.size() < PAGE_SIZE) break;
+            before = page.getLast().id();
+        }
+
+        assertThat(rows).hasSize(15).allSatisfy(row -> assertThat(row.movie()).isEqualTo("Kabaddi"));
+        assertThat(rows).extracting(BookingReportRow::id)
+                .containsExactlyElementsOf(expectedIds(b -> b.getShow().getMovie().getTitle().equals("Kabaddi")));
+    }
+
+    @Test
+    void statusFilterKeepsOnlyThatStatus() {
+        for (BookingStatus status : BookingStatus.values()) {
+            List<Long> seen = readAllPages(new BookingReportFilter(null, null, null, status));
+
+            assertThat(seen).hasSize(10).containsExactlyElementsOf(expectedIds(b -> b.getStatus() == status));
+        }
+    }
+
+    @Test
+    void filtersCombine() {
+        BookingReportFilter filter = new BookingReportFilter(FIRST_DAY, FIRST_DAY.plusDays(5), "Chhakka Panja",
+                BookingStatus.CANCELLED);
+
+        assertThat(readAllPages(filter)).containsExactlyElementsOf(expectedIds(b ->
+                b.getBookingTime().toLocalDate().isBefore(FIRST_DAY.plusDays(6))
+                        && b.getShow().getMovie().getTitle().equals("Chhakka Panja")
+                        && b.getStatus() == BookingStatus.CANCELLED)).isNotEmpty();
+    }
+
+    private List<Long> readAllPages(BookingReportFilter filter) {
+        List<Long> ids = new ArrayList<>();
+        Long before = null;
+        while (true) {
+            List<BookingReportRow> page = bookingRepository.findReportPage(filter, before, PAGE_SIZE);
+            assertThat(page).extracting(BookingReportRow::id).isSortedAccordingTo(Comparator.reverseOrder());
+            page.forEach(row -> ids.add(row.id()));
+            if (page.size() < PAGE_SIZE) return ids;
+            before = page.getLast().id();
+        }
+    }
+
+    private List<Long> expectedIds(Predicate<Booking> matches) {
+        return bookings.stream().filter(matches).map(Booking::getId).sorted(Comparator.reverseOrder()).toList();
+    }
+}
@@ -0,0 +1,111 @@
+package com.hamrochalchitraghar.system.repository;
+
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.Customer;
+import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.Show;
+import com.hamrochalchitraghar.system.model.enums.BookingChannel;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+import com.hamrochalchitraghar.system.model.enums.Role;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Each view must load its bookings, shows and movies in a fixed number of statements,
+ * however many rows there are.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.hamrochalchitraghar.system.repository.SqlStatementCounter"
+})
+@ActiveProfiles("h2")
+class FetchPlanTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ShowRepository showRepository;
+
+    private Customer customer;
+    private Show firstShow;
+
+    @BeforeEach
+    void setUp() {
+        customer = Customer.builder().name("Sita").email("sita@example.com").password("x")
+                .role(Role.CUSTOMER).active(true).createdAt(LocalDateTime.now()).build();
+        entityManager.persist(customer);
+
+        for (int m = 0; m < 3; m++) {
+            Movie movie = Movie.builder().title("Movie " + m).duration(120).build();
+            entityManager.persist(movie);
+            for (int s = 0; s < 2; s++) {
+                Show show = Show.builder().movie(movie).hallNo(s + 1)
+                        .showTime(LocalDateTime.now().plusDays(1).plusHours(m * 3L + s)).price(300).build();
+                entityManager.persist(show);
+                if (firstShow == null) firstShow = show;
+                for (BookingChannel channel : BookingChannel.values()) {
+                    entityManager.persist(Booking.builder()
+                            .customer(channel == BookingChannel.ONLINE ? customer : null)
+                            .show(show).seatNo("A" + (s + 1)).bookingTime(LocalDateTime.now())
+                            .channel(channel).status(BookingStatus.BOOKED).build());
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+    }
+
+    @Test
+    void customerBookingsLoadShowsAndMoviesInOneSelect() {
+        List<Booking> bookings = bookingRepository.findByCustomerId(customer.getId());
+        bookings.forEach(b -> b.getShow().getMovie().getTitle());
+
+        assertThat(bookings).hasSize(6);
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void boxOfficeBookingsLoadShowsAndMoviesInOneSelect() {
+        List<Booking> bookings = bookingRepository.findByChannel(BookingChannel.BOX_OFFICE);
+        bookings.forEach(b -> b.getShow().getMovie().getTitle());
+
+        assertThat(bookings).hasSize(6).allMatch(b -> b.getChannel() == BookingChannel.BOX_OFFICE);
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+    }
+
+    @Test
+    void ticketAndSeatPagesFetchTheirGraphUpFront() {
+        Long bookingId = bookingRepository.findByShowId(firstShow.getId()).get(0).getId();
+        entityManager.clear();
+        SqlStatementCounter.reset();
+
+        Booking booking = bookingRepository.findWithShowById(bookingId).orElseThrow();
+        booking.getShow().getMovie().getTitle();
+        Show show = showRepository.findWithMovieById(firstShow.getId()).orElseThrow();
+        show.getMovie().getTitle();
+
+        assertThat(SqlStatementCounter.count()).isEqualTo(2);
+    }
+
+    @Test
+    void bookingCountsPerCustomerAreOneGroupedQuery() {
+        List<Object[]> counts = bookingRepository.countPerCustomer();
+
+        assertThat(counts).hasSize(1);
+        assertThat(counts.get(0)).containsExactly(customer.getId(), 6L);
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+    }
+}
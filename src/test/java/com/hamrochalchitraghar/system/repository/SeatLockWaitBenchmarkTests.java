@@ -0,0 +1,166 @@
+package com.hamrochalchitraghar.system.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-wait time of concurrent seat bookings on MySQL, with the seats table as it was before
+ * V8__seat_constraints (show_id foreign-key index only) and after it (unique show_id, seat_no).
+ * Bookings follow the shipped path: plain select, optimistic version-checked updates, no FOR UPDATE.
+ * Needs a real MySQL, so it only runs when asked:
+ * <pre>
+ * mvn test -Dtest=SeatLockWaitBenchmarkTests -Dbenchmark.mysql.url=jdbc:mysql://localhost:3306/bench \
+ *     -Dbenchmark.mysql.user=root -Dbenchmark.mysql.password=...
+ * </pre>
+ * Works on scratch tables, which are dropped afterwards.
+ */
+@EnabledIfSystemProperty(named = "benchmark.mysql.url", matches = ".+")
+class SeatLockWaitBenchmarkTests {
+
+    private static final int SHOWS = 20;
+    private static final int ROWS = 15;
+    private static final int SEATS_PER_ROW = 20;
+    private static final int THREADS = 32;
+    private static final int BOOKINGS_PER_THREAD = 200;
+
+    private final String url = System.getProperty("benchmark.mysql.url");
+    private final String user = System.getProperty("benchmark.mysql.user", "root");
+    private final String password = System.getProperty("benchmark.mysql.password", "");
+
+    @Test
+    void lockWaitBeforeAndAfterSeatConstraints() throws Exception {
+        Result before = run("bench_seats_before", "INDEX idx_bench_before_show (show_id)");
+        Result after = run("bench_seats_after",
+                "UNIQUE KEY uk_bench_after_show_seat_no (show_id, seat_no), INDEX idx_bench_after_show_booked (show_id, booked)");
+
+        System.out.println("🔒 Seat lock-wait benchmark (" + THREADS + " threads x " + BOOKINGS_PER_THREAD + " bookings)");
+        System.out.println("   before: " + before);
+        System.out.println("   after:  " + after);
+    }
+
+    private Result run(String table, String indexes) throws Exception {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + table);
+            statement.execute("CREATE TABLE " + table + " (id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY, "
+                    + "show_id BIGINT, seat_no VARCHAR(255), booked BIT NOT NULL, locked_by VARCHAR(255), "
+                    + "locked_at DATETIME(6), version BIGINT NOT NULL, " + indexes + ") ENGINE=InnoDB");
+            seed(connection, table);
+        }
+        try {
+            long lockTimeBefore = lockTime();
+            AtomicInteger conflicts = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> book(table, conflicts)));
+            }
+            for (Future<?> future : futures) future.get();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            pool.shutdown();
+            return new Result(elapsedMs, lockTime() - lockTimeBefore, conflicts.get());
+        } finally {
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+            }
+        }
+    }
+
+    private void seed(Connection connection, String table) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table
+                + " (show_id, seat_no, booked, version) VALUES (?, ?, false, 0)")) {
+            for (int show = 1; show <= SHOWS; show++) {
+                for (int row = 0; row < ROWS; row++) {
+                    for (int seat = 1; seat <= SEATS_PER_ROW; seat++) {
+                        insert.setLong(1, show);
+                        insert.setString(2, (char) ('A' + row) + String.valueOf(seat));
+                        insert.addBatch();
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.commit();
+    }
+
+    /**
+     * Replays the statements BookingServiceImpl.bookSeats sends for the seats: a plain
+     * findByShowIdAndSeatNoIn select, then one version-checked update per seat (what Hibernate
+     * flushes for the @Version column). A zero update count is an optimistic conflict and
+     * rolls the booking back, as ObjectOptimisticLockingFailureException does. Seats are
+     * flipped instead of only booked so the hot shows never sell out during the run.
+     */
+    private Void book(String table, AtomicInteger conflicts) throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        try (Connection connection = connect()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            try (PreparedStatement select = connection.prepareStatement("SELECT id, booked, version FROM " + table
+                    + " WHERE show_id = ? AND seat_no IN (?, ?)");
+                 PreparedStatement update = connection.prepareStatement("UPDATE " + table
+                         + " SET booked = ?, locked_by = ?, locked_at = ?, version = ? WHERE id = ? AND version = ?")) {
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    // Most traffic goes to a few popular shows
+                    long show = random.nextInt(4) == 0 ? random.nextInt(SHOWS) + 1 : random.nextInt(3) + 1;
+                    char row = (char) ('A' + random.nextInt(ROWS));
+                    int seat = random.nextInt(SEATS_PER_ROW - 1) + 1;
+                    try {
+                        select.setLong(1, show);
+                        select.setString(2, row + String.valueOf(seat));
+                        select.setString(3, row + String.valueOf(seat + 1));
+                        boolean stale = false;
+                        try (ResultSet rs = select.executeQuery()) {
+                            while (rs.next() && !stale) {
+                                long version = rs.getLong(3);
+                                update.setBoolean(1, !rs.getBoolean(2));
+                                update.setString(2, "BOX_OFFICE");
+                                update.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                                update.setLong(4, version + 1);
+                                update.setLong(5, rs.getLong(1));
+                                update.setLong(6, version);
+                                stale = update.executeUpdate() == 0;
+                            }
+                        }
+                        if (stale) {
+                            conflicts.incrementAndGet();
+                            connection.rollback();
+                        } else {
+                            connection.commit();
+                        }
+                    } catch (SQLException e) {
+                        // Deadlock or lock wait timeout: also reported as a conflict by the booking service
+                        conflicts.incrementAndGet();
+                        connection.rollback();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private long lockTime() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW GLOBAL STATUS LIKE 'Innodb_row_lock_time'")) {
+            return rs.next() ? rs.getLong(2) : 0;
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    private record Result(long elapsedMs, long lockWaitMs, int conflicts) {
+        @Override
+        public String toString() {
+            return elapsedMs + " ms total, " + lockWaitMs + " ms waiting on row locks, "
+                    + conflicts + " conflict(s) (stale version, deadlock or lock timeout)";
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.hamrochalchitraghar.system.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Counts every SQL statement Hibernate prepares, so fetch-plan tests can assert on round trips.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.incrementAndGet();
+        return sql;
+    }
+
+    static void reset() {
+        COUNT.set(0);
+    }
+
+    static int count() {
+        return COUNT.get();
+    }
+}
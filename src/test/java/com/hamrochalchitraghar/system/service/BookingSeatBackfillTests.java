@@ -0,0 +1,70 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.dto.BookingTotalsRow;
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.Seat;
+import com.hamrochalchitraghar.system.model.Show;
+import com.hamrochalchitraghar.system.model.enums.BookingChannel;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import com.hamrochalchitraghar.system.repository.BookingSeatRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import(BookingSeatBackfill.class)
+class BookingSeatBackfillTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookingSeatBackfill backfill;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingSeatRepository bookingSeatRepository;
+
+    @Test
+    void legacySeatLabelsBecomeSeatRowsOnce() {
+        Movie movie = Movie.builder().title("Kabaddi").duration(120).build();
+        entityManager.persist(movie);
+        Show show = Show.builder().movie(movie).hallNo(1).showTime(LocalDateTime.now().plusDays(1)).price(300).build();
+        entityManager.persist(show);
+        for (String seatNo : List.of("A1", "A2", "A3")) {
+            entityManager.persist(Seat.builder().show(show).seatNo(seatNo).booked(!seatNo.equals("A3")).build());
+        }
+        Booking booking = Booking.builder().show(show).seatNo("A1, A2").bookingTime(LocalDateTime.now())
+                .channel(BookingChannel.BOX_OFFICE).status(BookingStatus.BOOKED).build();
+        entityManager.persist(booking);
+        entityManager.flush();
+
+        backfill.run(null);
+        backfill.run(null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(bookingSeatRepository.findSeatsByBookingId(booking.getId()))
+                .extracting(Seat::getSeatNo).containsExactlyInAnyOrder("A1", "A2");
+        assertThat(bookingSeatRepository.count()).isEqualTo(2);
+
+        List<BookingTotalsRow> totals = bookingRepository.sumByShowAndDay(BookingStatus.CANCELLED);
+        assertThat(totals).hasSize(1);
+        assertThat(totals.get(0).bookings()).isEqualTo(1);
+        assertThat(totals.get(0).seats()).isEqualTo(2);
+        assertThat(totals.get(0).revenue()).isEqualTo(600.0);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.dto.BookingTotalsRow;
+import com.hamrochalchitraghar.system.event.BookingChangedEvent;
+import com.hamrochalchitraghar.system.model.enums.BookingStatus;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.*;
+
+class BookingStatsServiceTests {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 1, 10);
+
+    private BookingRepository bookingRepository;
+    private BookingStatsService bookingStatsService;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.sumByShowAndDay(BookingStatus.CANCELLED)).thenReturn(List.of(
+                new BookingTotalsRow(1L, "Kabaddi", DAY, 2L, 5L, 1500.0),
+                new BookingTotalsRow(2L, "Chhakka Panja", DAY, 1L, 1L, 300.0)));
+        bookingStatsService = new BookingStatsService(bookingRepository);
+    }
+
+    @Test
+    void eventsMoveTotalsWithoutRequerying() {
+        assertThat(bookingStatsService.totals().revenue()).isEqualTo(1800.0);
+
+        bookingStatsService.onBookingChanged(new BookingChangedEvent(2L, "Chhakka Panja", DAY, 3, 900.0, BookingStatus.BOOKED));
+        bookingStatsService.onBookingChanged(new BookingChangedEvent(1L, "Kabaddi", DAY, 2, 600.0, BookingStatus.CANCELLED));
+
+        assertThat(bookingStatsService.totals().bookings()).isEqualTo(3);
+        assertThat(bookingStatsService.totals().revenue()).isEqualTo(2100.0);
+        assertThat(bookingStatsService.showTotals(1L).seats()).isEqualTo(3);
+        assertThat(bookingStatsService.dayTotals(DAY).seats()).isEqualTo(7);
+        assertThat(bookingStatsService.topMovies(5)).containsExactly(
+                entry("Chhakka Panja", 2L),
+                entry("Kabaddi", 1L));
+        verify(bookingRepository, times(1)).sumByShowAndDay(BookingStatus.CANCELLED);
+    }
+
+    @Test
+    void eventCommittedWhileReconcilingIsReplayedOntoTheNewTotals() throws Exception {
+        assertThat(bookingStatsService.totals().bookings()).isEqualTo(3);
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch eventDelivered = new CountDownLatch(1);
+        when(bookingRepository.sumByShowAndDay(BookingStatus.CANCELLED)).thenAnswer(inv -> {
+            querying.countDown();
+            eventDelivered.await();
+            // The query's snapshot predates the booking below
+            return List.of(new BookingTotalsRow(1L, "Kabaddi", DAY, 2L, 5L, 1500.0),
+                    new BookingTotalsRow(2L, "Chhakka Panja", DAY, 1L, 1L, 300.0));
+        });
+
+        Thread reconcile = Thread.ofVirtual().start(bookingStatsService::reconcile);
+        querying.await();
+        bookingStatsService.onBookingChanged(new BookingChangedEvent(2L, "Chhakka Panja", DAY, 2, 600.0, BookingStatus.BOOKED));
+        eventDelivered.countDown();
+        reconcile.join(5000);
+
+        assertThat(bookingStatsService.totals().bookings()).isEqualTo(4);
+        assertThat(bookingStatsService.totals().revenue()).isEqualTo(2400.0);
+        assertThat(bookingStatsService.showTotals(2L).seats()).isEqualTo(3);
+    }
+
+    @Test
+    void eventCommittedWhileSeedingIsNotDropped() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch eventDelivered = new CountDownLatch(1);
+        when(bookingRepository.sumByShowAndDay(BookingStatus.CANCELLED)).thenAnswer(inv -> {
+            querying.countDown();
+            eventDelivered.await();
+            return List.of(new BookingTotalsRow(1L, "Kabaddi", DAY, 2L, 5L, 1500.0));
+        });
+
+        Thread firstRead = Thread.ofVirtual().start(bookingStatsService::totals);
+        querying.await();
+        bookingStatsService.onBookingChanged(new BookingChangedEvent(1L, "Kabaddi", DAY, 1, 300.0, BookingStatus.CANCELLED));
+        eventDelivered.countDown();
+        firstRead.join(5000);
+
+        assertThat(bookingStatsService.totals().bookings()).isEqualTo(1);
+        assertThat(bookingStatsService.totals().seats()).isEqualTo(4);
+        verify(bookingRepository, times(1)).sumByShowAndDay(BookingStatus.CANCELLED);
+    }
+}
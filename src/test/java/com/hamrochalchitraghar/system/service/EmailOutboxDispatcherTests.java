@@ -0,0 +1,152 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.MailOutboxProperties;
+import com.hamrochalchitraghar.system.model.MailOutbox;
+import com.hamrochalchitraghar.system.model.enums.MailStatus;
+import com.hamrochalchitraghar.system.repository.MailOutboxRepository;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessagePreparator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTests {
+
+    private final MailOutboxProperties properties = new MailOutboxProperties(
+            1, 50, 3, Duration.ofSeconds(30), Duration.ofMinutes(30), Duration.ofMinutes(5));
+
+    private MailOutboxRepository outboxRepository;
+    private ErrorLogService errorLogService;
+    private FakeMailSender mailSender;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(MailOutboxRepository.class);
+        when(outboxRepository.saveAll(any())).thenAnswer(inv -> inv.getArgument(0));
+        errorLogService = mock(ErrorLogService.class);
+        mailSender = new FakeMailSender();
+        dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender, errorLogService, properties,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)), new SyncTaskExecutor());
+    }
+
+    @Test
+    void sendsWholeBatchOverOneConnectionAndMarksItSent() {
+        List<MailOutbox> due = List.of(pending(1L, "a@example.com"), pending(2L, "b@example.com"));
+        when(outboxRepository.findDueForUpdate(any(), any(), any())).thenReturn(due).thenReturn(List.of());
+
+        dispatcher.wakeUp();
+
+        assertThat(mailSender.batches).hasSize(1);
+        assertThat(mailSender.batches.get(0)).hasSize(2);
+        assertThat(due).allSatisfy(mail -> {
+            assertThat(mail.getStatus()).isEqualTo(MailStatus.SENT);
+            assertThat(mail.getAttempts()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void failedMessageIsRescheduledWithBackoffAndOthersAreSent() {
+        MailOutbox ok = pending(1L, "a@example.com");
+        MailOutbox bad = pending(2L, "bounce@example.com");
+        when(outboxRepository.findDueForUpdate(any(), any(), any())).thenReturn(List.of(ok, bad));
+        mailSender.rejected.add("bounce@example.com");
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher.dispatchBatch();
+
+        assertThat(ok.getStatus()).isEqualTo(MailStatus.SENT);
+        assertThat(bad.getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(bad.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(30));
+        assertThat(bad.getLastError()).contains("rejected");
+    }
+
+    @Test
+    void messageIsMarkedFailedAfterMaxAttempts() {
+        MailOutbox bad = pending(1L, "bounce@example.com");
+        bad.setAttempts(properties.maxAttempts() - 1);
+        when(outboxRepository.findDueForUpdate(any(), any(), any())).thenReturn(List.of(bad));
+        mailSender.rejected.add("bounce@example.com");
+
+        dispatcher.dispatchBatch();
+
+        assertThat(bad.getStatus()).isEqualTo(MailStatus.FAILED);
+        verify(errorLogService).logError(eq("EmailService"), any(), isNull());
+    }
+
+    @Test
+    void backoffDoublesAndIsCapped() {
+        assertThat(dispatcher.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(dispatcher.backoff(3)).isEqualTo(Duration.ofMinutes(2));
+        assertThat(dispatcher.backoff(20)).isEqualTo(Duration.ofMinutes(30));
+    }
+
+    private static MailOutbox pending(Long id, String recipient) {
+        return MailOutbox.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Ticket")
+                .body("Body")
+                .status(MailStatus.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Records each send call as one batch (one SMTP connection) and rejects listed recipients.
+     */
+    static class FakeMailSender implements JavaMailSender {
+
+        final List<List<SimpleMailMessage>> batches = new ArrayList<>();
+        final Set<String> rejected = new HashSet<>();
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) throws MailException {
+            batches.add(List.of(simpleMessages));
+            Map<Object, Exception> failed = new LinkedHashMap<>();
+            for (SimpleMailMessage message : simpleMessages) {
+                if (rejected.contains(message.getTo()[0])) {
+                    failed.put(message, new IllegalStateException("Recipient rejected"));
+                }
+            }
+            if (!failed.isEmpty()) throw new MailSendException(failed);
+        }
+
+        @Override
+        public MimeMessage createMimeMessage() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MimeMessage createMimeMessage(InputStream contentStream) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessage... mimeMessages) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void send(MimeMessagePreparator... mimeMessagePreparators) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
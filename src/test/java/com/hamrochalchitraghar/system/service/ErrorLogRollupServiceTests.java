@@ -0,0 +1,86 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.ErrorLogProperties;
+import com.hamrochalchitraghar.system.model.ErrorLog;
+import com.hamrochalchitraghar.system.model.ErrorLogRollup;
+import com.hamrochalchitraghar.system.repository.ErrorLogRepository;
+import com.hamrochalchitraghar.system.repository.ErrorLogRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import({ErrorLogRollupService.class, ErrorLogRollupServiceTests.Config.class})
+class ErrorLogRollupServiceTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 3, 31, 10, 5);
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ErrorLogProperties errorLogProperties() {
+            return new ErrorLogProperties(8, 3, Duration.ofMinutes(1), Duration.ofDays(30), 2);
+        }
+    }
+
+    @Autowired
+    private ErrorLogRollupService rollupService;
+
+    @Autowired
+    private ErrorLogRepository errorLogRepository;
+
+    @Autowired
+    private ErrorLogRollupRepository rollupRepository;
+
+    @Test
+    void completedHoursAreRolledUpOnceAndSurviveThePurge() {
+        log("BookingService", NOW.minusDays(40), 3);
+        log("BookingService", NOW.minusDays(40).plusMinutes(10), 2);
+        log("BookingService", NOW.minusDays(35), 1);
+        log("EmailService", NOW.minusDays(35), 4);
+        log("BookingService", NOW.minusHours(1), 1);
+        log("BookingService", NOW, 7); // current hour, not rolled up yet
+
+        assertThat(rollupService.rollUp(NOW)).isEqualTo(4);
+        assertThat(rollupService.rollUp(NOW)).isZero();
+        assertThat(rollupRepository.findAll()).extracting(ErrorLogRollup::getOccurrences)
+                .containsExactlyInAnyOrder(5L, 1L, 4L, 1L);
+        assertThat(rollupService.totalOccurrences("BookingService")).isEqualTo(14);
+
+        assertThat(rollupService.purge(NOW)).isEqualTo(4);
+        assertThat(errorLogRepository.count()).isEqualTo(2);
+        assertThat(rollupService.totalOccurrences("BookingService")).isEqualTo(14);
+    }
+
+    @Test
+    void pagesAreNewestFirstAndFilteredBySource() {
+        for (int i = 0; i < 5; i++) {
+            log(i % 2 == 0 ? "BookingService" : "EmailService", NOW.minusMinutes(i), 1);
+        }
+
+        List<ErrorLog> first = errorLogRepository.findPage("BookingService", null, PageRequest.of(0, 2));
+        List<ErrorLog> second = errorLogRepository.findPage("BookingService", first.get(1).getId(), PageRequest.of(0, 2));
+
+        assertThat(first).hasSize(2).allMatch(e -> e.getSource().equals("BookingService"));
+        assertThat(first.get(0).getId()).isGreaterThan(first.get(1).getId());
+        assertThat(second).hasSize(1);
+        assertThat(errorLogRepository.findSources()).containsExactly("BookingService", "EmailService");
+    }
+
+    private void log(String source, LocalDateTime time, int occurrences) {
+        errorLogRepository.save(ErrorLog.builder().source(source).message("failed").timestamp(time)
+                .lastSeen(time).occurrences(occurrences).build());
+    }
+}
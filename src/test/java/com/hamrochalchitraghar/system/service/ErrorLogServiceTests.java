@@ -0,0 +1,86 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.ErrorLogProperties;
+import com.hamrochalchitraghar.system.dto.ErrorLogStats;
+import com.hamrochalchitraghar.system.model.ErrorLog;
+import com.hamrochalchitraghar.system.repository.ErrorLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import({ErrorLogService.class, ErrorLogServiceTests.Config.class})
+// The writer runs outside any caller transaction, so the tests do too
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ErrorLogServiceTests {
+
+    @TestConfiguration
+    static class Config {
+        @Bean
+        ErrorLogProperties errorLogProperties() {
+            return new ErrorLogProperties(8, 3, Duration.ofMinutes(1), Duration.ofDays(30), 1000);
+        }
+    }
+
+    @Autowired
+    private ErrorLogService errorLogService;
+
+    @Autowired
+    private ErrorLogRepository errorLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        errorLogService.flush();
+        errorLogRepository.deleteAll();
+    }
+
+    @Test
+    void repeatsWithinTheWindowBecomeOneRowWithACount() {
+        ErrorLogStats before = errorLogService.stats();
+        for (int i = 0; i < 5; i++) {
+            errorLogService.logError("BookingService", "Seat A1 is already booked.", "trace");
+        }
+        errorLogService.logError("EmailService", "SMTP down", null);
+        assertThat(errorLogRepository.count()).isZero();
+
+        errorLogService.flush();
+        errorLogService.logError("BookingService", "Seat A1 is already booked.", "trace");
+        errorLogService.flush();
+
+        List<ErrorLog> logs = errorLogRepository.findAll().stream()
+                .sorted(Comparator.comparing(ErrorLog::getSource)).toList();
+        assertThat(logs).extracting(ErrorLog::getSource).containsExactly("BookingService", "EmailService");
+        assertThat(logs).extracting(ErrorLog::getOccurrences).containsExactly(6, 1);
+        assertThat(logs).extracting(ErrorLog::getLastSeen).doesNotContainNull();
+        ErrorLogStats after = errorLogService.stats();
+        assertThat(after.written() - before.written()).isEqualTo(2);
+        assertThat(after.merged() - before.merged()).isEqualTo(5);
+    }
+
+    @Test
+    void fullBufferDropsAndCountsInsteadOfBlocking() {
+        long droppedBefore = errorLogService.stats().dropped();
+        for (int i = 0; i < 12; i++) {
+            errorLogService.logError("Load", "error " + i, null);
+        }
+
+        assertThat(errorLogService.stats().dropped() - droppedBefore).isEqualTo(4);
+        errorLogService.flush();
+        assertThat(errorLogRepository.count()).isEqualTo(8);
+        assertThat(errorLogService.stats().queued()).isZero();
+    }
+}
@@ -0,0 +1,148 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.IdempotencyProperties;
+import com.hamrochalchitraghar.system.dto.BookingSubmission;
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.BookingRequestKey;
+import com.hamrochalchitraghar.system.model.Customer;
+import com.hamrochalchitraghar.system.model.enums.BookingChannel;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import com.hamrochalchitraghar.system.repository.BookingRequestKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class IdempotentBookingServiceTests {
+
+    private static final List<String> SEATS = List.of("A1", "A2");
+
+    private BookingService bookingService;
+    private BookingRepository bookingRepository;
+    private BookingRequestKeyRepository requestKeyRepository;
+    private IdempotentBookingService service;
+
+    @BeforeEach
+    void setUp() {
+        bookingService = mock(BookingService.class);
+        bookingRepository = mock(BookingRepository.class);
+        requestKeyRepository = mock(BookingRequestKeyRepository.class);
+        when(requestKeyRepository.findByRequestKey(anyString())).thenReturn(Optional.empty());
+        service = new IdempotentBookingService(bookingService, bookingRepository, requestKeyRepository,
+                new IdempotencyProperties(Duration.ofHours(24), 100));
+    }
+
+    @Test
+    void resubmittedKeyReturnsTheFirstBookingWithoutBookingAgain() {
+        Booking booking = Booking.builder().id(7L).build();
+        when(bookingService.bookSeats(1L, 3L, SEATS, BookingChannel.ONLINE, "s", "key-1")).thenReturn(booking);
+        when(bookingRepository.findWithShowById(7L)).thenReturn(Optional.of(booking));
+
+        BookingSubmission first = service.book("key-1", 1L, 3L, SEATS, BookingChannel.ONLINE, "s");
+        BookingSubmission second = service.book("key-1", 1L, 3L, SEATS, BookingChannel.ONLINE, "s");
+
+        assertThat(first.duplicate()).isFalse();
+        assertThat(second.duplicate()).isTrue();
+        assertThat(second.booking().getId()).isEqualTo(7L);
+        verify(bookingService, times(1)).bookSeats(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void concurrentDuplicateWaitsForTheRunningBooking() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Booking booking = Booking.builder().id(8L).build();
+        when(bookingService.bookSeats(any(), any(), any(), any(), any(), eq("key-2"))).thenAnswer(inv -> {
+            entered.countDown();
+            release.await();
+            return booking;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        Future<BookingSubmission> first = pool.submit(() -> service.book("key-2", 1L, 3L, SEATS, BookingChannel.ONLINE, "s"));
+        entered.await();
+        Future<BookingSubmission> second = pool.submit(() -> service.book("key-2", 1L, 3L, SEATS, BookingChannel.ONLINE, "s"));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).duplicate()).isFalse();
+        assertThat(second.get(5, TimeUnit.SECONDS).booking()).isSameAs(booking);
+        verify(bookingService, times(1)).bookSeats(any(), any(), any(), any(), any(), any());
+        pool.shutdown();
+    }
+
+    @Test
+    void keyStoredByAnotherNodeIsAnsweredFromTheTable() {
+        Booking booking = Booking.builder().id(9L).customer(Customer.builder().id(1L).build()).build();
+        when(requestKeyRepository.findByRequestKey("key-3")).thenReturn(Optional.of(
+                new BookingRequestKey(1L, "key-3", 9L, 3L, LocalDateTime.now())));
+        when(bookingRepository.findWithShowById(9L)).thenReturn(Optional.of(booking));
+
+        BookingSubmission submission = service.book("key-3", 1L, 3L, SEATS, BookingChannel.ONLINE, "s");
+
+        assertThat(submission.duplicate()).isTrue();
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void failedBookingDoesNotBurnTheKey() {
+        when(bookingService.bookSeats(any(), any(), any(), any(), any(), eq("key-4")))
+                .thenThrow(new RuntimeException("Seat A1 is already booked."))
+                .thenReturn(Booking.builder().id(10L).build());
+
+        assertThatThrownBy(() -> service.book("key-4", 1L, 3L, SEATS, BookingChannel.ONLINE, "s"))
+                .hasMessageContaining("already booked");
+        assertThat(service.book("key-4", 1L, 3L, SEATS, BookingChannel.ONLINE, "s").booking().getId()).isEqualTo(10L);
+    }
+
+    @Test
+    void cachedKeyReusedForAnotherShowOrCustomerIsRejected() {
+        Booking booking = Booking.builder().id(11L).build();
+        when(bookingService.bookSeats(1L, 3L, SEATS, BookingChannel.ONLINE, "s", "key-5")).thenReturn(booking);
+        service.book("key-5", 1L, 3L, SEATS, BookingChannel.ONLINE, "s");
+
+        assertThatThrownBy(() -> service.book("key-5", 1L, 4L, SEATS, BookingChannel.ONLINE, "s"))
+                .hasMessageContaining("another show");
+        assertThatThrownBy(() -> service.book("key-5", 2L, 3L, SEATS, BookingChannel.ONLINE, "s"))
+                .hasMessageContaining("another customer");
+        verify(bookingRepository, never()).findWithShowById(any());
+        verify(bookingService, times(1)).bookSeats(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void runningKeyReusedForAnotherShowIsRejected() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.bookSeats(any(), any(), any(), any(), any(), eq("key-6"))).thenAnswer(inv -> {
+            entered.countDown();
+            release.await();
+            return Booking.builder().id(12L).build();
+        });
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<BookingSubmission> first = pool.submit(() -> service.book("key-6", 1L, 3L, SEATS, BookingChannel.ONLINE, "s"));
+        entered.await();
+        assertThatThrownBy(() -> service.book("key-6", 1L, 4L, SEATS, BookingChannel.ONLINE, "s"))
+                .hasMessageContaining("another show");
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).booking().getId()).isEqualTo(12L);
+        pool.shutdown();
+    }
+
+    @Test
+    void overlongKeyIsRejectedBeforeBooking() {
+        assertThatThrownBy(() -> service.book("k".repeat(65), 1L, 3L, SEATS, BookingChannel.ONLINE, "s"))
+                .hasMessageContaining("Invalid booking request");
+        verifyNoInteractions(bookingService, requestKeyRepository);
+    }
+}
@@ -0,0 +1,200 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.PrintSpoolerProperties;
+import com.hamrochalchitraghar.system.dto.PrintJob;
+import com.hamrochalchitraghar.system.model.Booking;
+import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.Show;
+import com.hamrochalchitraghar.system.model.enums.PrintJobStatus;
+import com.hamrochalchitraghar.system.service.impl.PrintServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class PrintServiceImplTests {
+
+    @TempDir
+    Path spool;
+
+    private final ErrorLogService errorLogService = mock(ErrorLogService.class);
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void ticketsOfOneBookingAreSpooledAsOneJobToTheFilePrinter() throws Exception {
+        PrintSpoolerProperties properties = properties(spool, 3);
+        PrintService printService = new PrintServiceImpl(new PrinterLookup(properties), errorLogService, properties, start());
+
+        PrintJob job = printService.printTicket(booking(1L, "A1,A2,A3"));
+
+        assertThat(job.tickets()).isEqualTo(3);
+        assertThat(awaitFinished(printService, job.id()).status()).isEqualTo(PrintJobStatus.DONE);
+        List<Path> files;
+        try (var listing = Files.list(spool)) {
+            files = listing.toList();
+        }
+        assertThat(files).hasSize(1);
+        String printed = Files.readString(files.getFirst(), StandardCharsets.UTF_8);
+        assertThat(printed.split("\f")).hasSize(3);
+        assertThat(printed).contains("Seat: A1", "Seat: A3", "Booking ID: 1");
+        assertThat(printService.findLatestForBooking(1L)).contains(printService.find(job.id()).orElseThrow());
+    }
+
+    @Test
+    void printerLookupIsCachedUntilAPrintFails() throws Exception {
+        PrintSpoolerProperties properties = properties(null, 3);
+        PrinterLookup lookup = mock(PrinterLookup.class);
+        AtomicInteger calls = new AtomicInteger();
+        TicketPrinter flaky = new TicketPrinter() {
+            public String name() {
+                return "flaky";
+            }
+
+            public void print(byte[] document) {
+                if (calls.incrementAndGet() == 1) throw new RuntimeException("Paper out");
+            }
+        };
+        when(lookup.defaultPrinter()).thenReturn("default");
+        when(lookup.find("default")).thenReturn(flaky);
+        PrintService printService = new PrintServiceImpl(lookup, errorLogService, properties, start());
+
+        PrintJob job = awaitFinished(printService, printService.printTicket(booking(2L, "B1")).id());
+
+        assertThat(job.status()).isEqualTo(PrintJobStatus.DONE);
+        assertThat(job.attempts()).isEqualTo(2);
+        verify(lookup, times(1)).invalidate("default");
+    }
+
+    @Test
+    void jobFailsAfterMaxAttemptsAndIsLogged() throws Exception {
+        PrintSpoolerProperties properties = properties(null, 2);
+        PrinterLookup lookup = mock(PrinterLookup.class);
+        when(lookup.defaultPrinter()).thenReturn("default");
+        when(lookup.find("default")).thenThrow(new RuntimeException("No printer found."));
+        PrintService printService = new PrintServiceImpl(lookup, errorLogService, properties, start());
+
+        PrintJob job = awaitFinished(printService, printService.printTicket(booking(3L, "C1")).id());
+
+        assertThat(job.status()).isEqualTo(PrintJobStatus.FAILED);
+        assertThat(job.attempts()).isEqualTo(2);
+        assertThat(job.error()).isEqualTo("No printer found.");
+        verify(errorLogService).logError(eq("PrintService"), contains("No printer found."), isNull());
+    }
+
+    @Test
+    void slowPrinterDoesNotBlockTheCallerAndKeepsOrder() throws Exception {
+        PrintSpoolerProperties properties = properties(null, 1);
+        PrinterLookup lookup = mock(PrinterLookup.class);
+        CountDownLatch paperLoaded = new CountDownLatch(1);
+        List<String> printed = new java.util.concurrent.CopyOnWriteArrayList<>();
+        when(lookup.defaultPrinter()).thenReturn("default");
+        when(lookup.find(anyString())).thenReturn(new TicketPrinter() {
+            public String name() {
+                return "slow";
+            }
+
+            public void print(byte[] document) throws InterruptedException {
+                paperLoaded.await();
+                printed.add(new String(document, StandardCharsets.UTF_8).replaceAll("(?s).*Booking ID: (\\d+).*", "$1"));
+            }
+        });
+        PrintService printService = new PrintServiceImpl(lookup, errorLogService, properties, start());
+
+        long startNanos = System.nanoTime();
+        PrintJob first = printService.printTicket(booking(10L, "A1"));
+        PrintJob second = printService.printTicket(booking(11L, "A2"));
+        assertThat(Duration.ofNanos(System.nanoTime() - startNanos)).isLessThan(Duration.ofSeconds(1));
+        assertThat(printService.find(second.id()).orElseThrow().status()).isEqualTo(PrintJobStatus.QUEUED);
+
+        paperLoaded.countDown();
+        awaitFinished(printService, first.id());
+        awaitFinished(printService, second.id());
+        assertThat(printed).containsExactly("10", "11");
+    }
+
+    @Test
+    void fullPrinterQueueRejectsTheJob() throws Exception {
+        PrintSpoolerProperties properties = new PrintSpoolerProperties(null, null, Duration.ofMinutes(5), 1, 1, 1,
+                Duration.ofMillis(10), Duration.ofHours(1));
+        PrinterLookup lookup = mock(PrinterLookup.class);
+        CountDownLatch printing = new CountDownLatch(1);
+        CountDownLatch paperLoaded = new CountDownLatch(1);
+        when(lookup.defaultPrinter()).thenReturn("default");
+        when(lookup.find(anyString())).thenReturn(new TicketPrinter() {
+            public String name() {
+                return "slow";
+            }
+
+            public void print(byte[] document) throws InterruptedException {
+                printing.countDown();
+                paperLoaded.await();
+            }
+        });
+        PrintService printService = new PrintServiceImpl(lookup, errorLogService, properties, start());
+
+        printService.printTicket(booking(20L, "A1"));
+        printing.await();
+        PrintJob queued = printService.printTicket(booking(21L, "A2"));
+
+        assertThatThrownBy(() -> printService.printTicket(booking(22L, "A3")))
+                .isInstanceOf(TaskRejectedException.class);
+        assertThat(printService.findLatestForBooking(22L)).isEmpty();
+        paperLoaded.countDown();
+        assertThat(awaitFinished(printService, queued.id()).status()).isEqualTo(PrintJobStatus.DONE);
+    }
+
+    private ThreadPoolTaskExecutor start() {
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.initialize();
+        return executor;
+    }
+
+    private static PrintSpoolerProperties properties(Path fakeDir, int maxAttempts) {
+        return new PrintSpoolerProperties(null, fakeDir, Duration.ofMinutes(5), 1, 10, maxAttempts,
+                Duration.ofMillis(10), Duration.ofHours(1));
+    }
+
+    private static Booking booking(Long id, String seats) {
+        Movie movie = new Movie();
+        movie.setTitle("Kabaddi");
+        Show show = new Show();
+        show.setMovie(movie);
+        show.setHallNo(1);
+        show.setShowTime(LocalDateTime.of(2026, 10, 17, 18, 0));
+        return Booking.builder().id(id).show(show).seatNo(seats).build();
+    }
+
+    private static PrintJob awaitFinished(PrintService printService, String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            PrintJob job = printService.find(jobId).orElseThrow();
+            if (job.finishedAt() != null) return job;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Print job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,180 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.ReportJobProperties;
+import com.hamrochalchitraghar.system.dto.BookingReportFilter;
+import com.hamrochalchitraghar.system.dto.ReportJob;
+import com.hamrochalchitraghar.system.model.enums.ReportJobStatus;
+import com.hamrochalchitraghar.system.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReportJobServiceTests {
+
+    private static final BookingReportFilter ALL = new BookingReportFilter(null, null, null, null);
+
+    @TempDir
+    Path storage;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final StubReportService reportService = new StubReportService();
+    private final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        reportService.release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void sameFiltersOverUnchangedDataReuseTheFinishedJob() throws Exception {
+        when(bookingRepository.reportFingerprint(any())).thenReturn("42|7");
+        ReportJobService service = service(Duration.ofHours(24));
+        reportService.release.countDown();
+
+        ReportJob first = awaitFinished(service, service.submit(ALL).id());
+        ReportJob again = service.submit(new BookingReportFilter(null, null, null, null));
+
+        assertThat(first.status()).isEqualTo(ReportJobStatus.DONE);
+        assertThat(first.rows()).isEqualTo(3);
+        assertThat(again.id()).isEqualTo(first.id());
+        assertThat(reportService.exports.get()).isEqualTo(1);
+        assertThat(service.artifact(first.id())).hasValueSatisfying(path -> assertThat(path).exists());
+    }
+
+    @Test
+    void changedDataOrFiltersStartANewExport() throws Exception {
+        when(bookingRepository.reportFingerprint(any())).thenReturn("42|7", "43|8", "43|8");
+        ReportJobService service = service(Duration.ofHours(24));
+        reportService.release.countDown();
+
+        ReportJob first = awaitFinished(service, service.submit(ALL).id());
+        ReportJob afterNewBooking = awaitFinished(service, service.submit(ALL).id());
+        ReportJob otherMovie = awaitFinished(service, service.submit(new BookingReportFilter(null, null, "Kabaddi", null)).id());
+
+        assertThat(afterNewBooking.id()).isNotEqualTo(first.id());
+        assertThat(otherMovie.id()).isNotIn(first.id(), afterNewBooking.id());
+        assertThat(reportService.exports.get()).isEqualTo(3);
+    }
+
+    @Test
+    void failedJobIsNotReused() throws Exception {
+        when(bookingRepository.reportFingerprint(any())).thenReturn("42|7");
+        ReportJobService service = service(Duration.ofHours(24));
+        reportService.failNext = true;
+        reportService.release.countDown();
+
+        ReportJob failed = awaitFinished(service, service.submit(ALL).id());
+        ReportJob retried = awaitFinished(service, service.submit(ALL).id());
+
+        assertThat(failed.status()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(failed.error()).isEqualTo("disk full");
+        assertThat(service.artifact(failed.id())).isEmpty();
+        assertThat(retried.id()).isNotEqualTo(failed.id());
+        assertThat(retried.status()).isEqualTo(ReportJobStatus.DONE);
+    }
+
+    @Test
+    void fullQueueRejectsAndForgetsTheJob() throws Exception {
+        when(bookingRepository.reportFingerprint(any())).thenReturn("42|7");
+        ReportJobService service = service(Duration.ofHours(24));
+
+        service.submit(new BookingReportFilter(null, null, "A", null));
+        assertThat(reportService.started.await(5, TimeUnit.SECONDS)).isTrue();
+        ReportJob queued = service.submit(new BookingReportFilter(null, null, "B", null));
+
+        assertThatThrownBy(() -> service.submit(new BookingReportFilter(null, null, "C", null)))
+                .isInstanceOf(TaskRejectedException.class)
+                .hasMessageContaining("Too many reports");
+        assertThat(queued.status()).isEqualTo(ReportJobStatus.QUEUED);
+
+        // The rejected filters are not remembered, so a later submission is accepted
+        reportService.release.countDown();
+        awaitFinished(service, queued.id());
+        ReportJob accepted = awaitFinished(service, service.submit(new BookingReportFilter(null, null, "C", null)).id());
+        assertThat(accepted.status()).isEqualTo(ReportJobStatus.DONE);
+    }
+
+    @Test
+    void purgeDropsExpiredJobsAndTheirFiles() throws Exception {
+        when(bookingRepository.reportFingerprint(any())).thenReturn("42|7");
+        ReportJobService service = service(Duration.ZERO);
+        reportService.release.countDown();
+
+        ReportJob job = awaitFinished(service, service.submit(ALL).id());
+        Path file = service.artifact(job.id()).orElseThrow();
+        Thread.sleep(5);
+        service.purgeExpired();
+
+        assertThat(service.find(job.id())).isEmpty();
+        assertThat(file).doesNotExist();
+        assertThat(service.submit(ALL).id()).isNotEqualTo(job.id());
+    }
+
+    private ReportJobService service(Duration retention) {
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.initialize();
+        return new ReportJobService(reportService, bookingRepository, mock(ErrorLogService.class), executor,
+                new ReportJobProperties(1, 1, storage, retention));
+    }
+
+    private static ReportJob awaitFinished(ReportJobService service, String jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            ReportJob job = service.find(jobId).orElseThrow();
+            if (job.finishedAt() != null) return job;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Report job " + jobId + " did not finish");
+    }
+
+    /**
+     * Writes a few bytes instead of a workbook; waits for {@code release} so tests can hold the worker.
+     */
+    private static class StubReportService extends BookingReportService {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger exports = new AtomicInteger();
+        volatile boolean failNext;
+
+        StubReportService() {
+            super(null);
+        }
+
+        @Override
+        public long exportExcel(BookingReportFilter filter, OutputStream out) throws IOException {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exports.incrementAndGet();
+            if (failNext) {
+                failNext = false;
+                throw new IOException("disk full");
+            }
+            out.write("report".getBytes());
+            return 3;
+        }
+    }
+}
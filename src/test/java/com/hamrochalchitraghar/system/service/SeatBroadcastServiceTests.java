@@ -0,0 +1,66 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.SeatBroadcastProperties;
+import com.hamrochalchitraghar.system.dto.SeatDelta;
+import com.hamrochalchitraghar.system.dto.SeatSync;
+import com.hamrochalchitraghar.system.event.SeatStateChangedEvent;
+import com.hamrochalchitraghar.system.model.enums.SeatStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SeatBroadcastServiceTests {
+
+    private SeatBroadcastService service;
+
+    @BeforeEach
+    void setUp() {
+        TaskScheduler scheduler = mock(TaskScheduler.class);
+        // Flush straight away instead of after the coalescing window
+        when(scheduler.schedule(any(Runnable.class), any(Instant.class))).thenAnswer(inv -> {
+            inv.getArgument(0, Runnable.class).run();
+            return null;
+        });
+        SeatStateService seatStateService = mock(SeatStateService.class);
+        when(seatStateService.getSeatStatuses(1L)).thenReturn(Map.of("A1", SeatStatus.BOOKED));
+        service = new SeatBroadcastService(mock(SimpMessagingTemplate.class), scheduler,
+                new SeatBroadcastProperties(Duration.ofMillis(100), 256), seatStateService);
+    }
+
+    @Test
+    void droppedChannelAnswersOldVersionsWithASnapshot() {
+        service.onSeatStateChanged(new SeatStateChangedEvent(1L, List.of("A1"), SeatStatus.LOCKED));
+        service.onSeatStateChanged(new SeatStateChangedEvent(1L, List.of("A1"), SeatStatus.BOOKED));
+        assertThat(service.sync(1L, service.nodeId(), 1L).deltas()).hasSize(1);
+
+        assertThat(service.retainChannels(Set.of())).isEqualTo(1);
+
+        SeatSync sync = service.sync(1L, service.nodeId(), 1L);
+        assertThat(sync.snapshot()).containsEntry("A1", SeatStatus.BOOKED);
+        assertThat(sync.deltas()).isEmpty();
+        // The recreated channel continues above the dropped one's versions
+        assertThat(service.currentVersion(1L)).isEqualTo(2L);
+        service.onSeatStateChanged(new SeatStateChangedEvent(1L, List.of("A1"), SeatStatus.AVAILABLE));
+        assertThat(service.sync(1L, service.nodeId(), 2L).deltas()).extracting(SeatDelta::seq).containsExactly(3L);
+    }
+
+    @Test
+    void channelsOfLoadedShowsAreKept() {
+        service.onSeatStateChanged(new SeatStateChangedEvent(1L, List.of("A1"), SeatStatus.LOCKED));
+
+        assertThat(service.retainChannels(Set.of(1L))).isZero();
+        assertThat(service.sync(1L, service.nodeId(), 0L).deltas()).hasSize(1);
+    }
+}
@@ -0,0 +1,147 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.config.SeatHoldProperties;
+import com.hamrochalchitraghar.system.model.Seat;
+import com.hamrochalchitraghar.system.repository.SeatRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SeatStateServiceTests {
+
+    private SeatRepository seatRepository;
+    private SeatStateService seatStateService;
+
+    @BeforeEach
+    void setUp() {
+        seatRepository = mock(SeatRepository.class);
+        when(seatRepository.findByShowId(1L)).thenReturn(List.of(
+                Seat.builder().id(1L).seatNo("A1").build(),
+                Seat.builder().id(2L).seatNo("A2").build(),
+                Seat.builder().id(3L).seatNo("A3").booked(true).build()));
+        seatStateService = new SeatStateService(seatRepository, new SeatHoldProperties(Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void onlyOneConcurrentBuyerClaimsTheSameSeat() throws Exception {
+        int buyers = 32;
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger accepted = new AtomicInteger();
+        List<Future<?>> results = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < buyers; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                try {
+                    seatStateService.claim(1L, List.of("A1", "A2"), null);
+                    accepted.incrementAndGet();
+                } catch (RuntimeException ignored) {
+                    // rejected contender
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : results) f.get(5, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertThat(accepted.get()).isEqualTo(1);
+        assertThat(seatStateService.getAvailableSeats(1L)).isEmpty();
+    }
+
+    @Test
+    void rejectedClaimLeavesOtherSeatsUntouched() {
+        assertThatThrownBy(() -> seatStateService.claim(1L, List.of("A1", "A3"), null))
+                .hasMessageContaining("A3");
+
+        assertThat(seatStateService.getAvailableSeats(1L))
+                .extracting(Seat::getSeatNo)
+                .containsExactly("A1", "A2");
+    }
+
+    @Test
+    void abortedClaimReturnsSeatsAndConfirmedClaimBooksThem() {
+        seatStateService.claim(1L, List.of("A1"), null).abort();
+        seatStateService.claim(1L, List.of("A2"), null).confirm();
+
+        assertThat(seatStateService.getSeats(1L))
+                .filteredOn(Seat::isBooked)
+                .extracting(Seat::getSeatNo)
+                .containsExactly("A2", "A3");
+    }
+
+    @Test
+    void heldSeatIsClaimableOnlyByItsHolderUntilItExpires() {
+        seatStateService.hold(1L, List.of("A1"), "session-1");
+
+        assertThatThrownBy(() -> seatStateService.claim(1L, List.of("A1"), "session-2"))
+                .hasMessageContaining("temporarily locked");
+        assertThat(seatStateService.getAvailableSeats(1L)).extracting(Seat::getSeatNo).containsExactly("A2");
+
+        assertThat(seatStateService.expireHolds(LocalDateTime.now().plusMinutes(6)))
+                .containsEntry(1L, List.of("A1"));
+        seatStateService.claim(1L, List.of("A1"), "session-2").confirm();
+    }
+
+    @Test
+    void holderCanReleaseOnlyItsOwnHold() {
+        seatStateService.hold(1L, List.of("A1"), "session-1");
+
+        assertThat(seatStateService.release(1L, List.of("A1"), "session-2")).isEmpty();
+        assertThat(seatStateService.release(1L, List.of("A1"), "session-1")).containsExactly("A1");
+        assertThat(seatStateService.getAvailableSeats(1L)).extracting(Seat::getSeatNo).containsExactly("A1", "A2");
+    }
+
+    @Test
+    void renewedHoldReportsNoChangedSeats() {
+        assertThat(seatStateService.hold(1L, List.of("A1"), "s1").changedSeatNumbers()).containsExactly("A1");
+        assertThat(seatStateService.hold(1L, List.of("A1", "A2"), "s1").changedSeatNumbers()).containsExactly("A2");
+    }
+
+    @Test
+    void evictedShowReloadsFromTheRepository() {
+        seatStateService.claim(1L, List.of("A1"), null).confirm();
+        assertThat(seatStateService.getAvailableSeats(1L)).extracting(Seat::getSeatNo).containsExactly("A2");
+
+        assertThat(seatStateService.evict(1L)).isTrue();
+        assertThat(seatStateService.loadedShowIds()).isEmpty();
+
+        // The repository still has A1 free, e.g. after the booking was removed in the database
+        assertThat(seatStateService.getAvailableSeats(1L)).extracting(Seat::getSeatNo).containsExactly("A1", "A2");
+        verify(seatRepository, times(2)).findByShowId(1L);
+    }
+
+    @Test
+    void idleShowsAreDroppedButClaimsInFlightKeepTheirMap() {
+        seatStateService.getSeats(1L);
+        assertThat(seatStateService.evictIdle(LocalDateTime.now().minusMinutes(30))).isEmpty();
+
+        SeatStateService.SeatClaim claim = seatStateService.claim(1L, List.of("A1"), null);
+        assertThat(seatStateService.evictIdle(LocalDateTime.now().plusMinutes(1))).isEmpty();
+
+        claim.confirm();
+        assertThat(seatStateService.evictIdle(LocalDateTime.now().plusMinutes(1))).containsExactly(1L);
+    }
+
+    @Test
+    void showWithoutSeatsIsNotCached() {
+        assertThat(seatStateService.getSeats(2L)).isEmpty();
+
+        when(seatRepository.findByShowId(2L)).thenReturn(List.of(Seat.builder().id(10L).seatNo("A1").build()));
+        assertThat(seatStateService.getSeats(2L)).extracting(Seat::getSeatNo).containsExactly("A1");
+        assertThat(seatStateService.loadedShowIds()).containsExactly(2L);
+    }
+}
@@ -0,0 +1,26 @@
+package com.hamrochalchitraghar.system.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatUpdateThrottleTests {
+
+    @Test
+    void bucketAllowsBurstThenRefillsAtRate() {
+        SeatUpdateThrottle.TokenBucket bucket = new SeatUpdateThrottle.TokenBucket(3);
+        long now = System.nanoTime();
+
+        assertThat(bucket.tryAcquire(3, 2, now)).isTrue();
+        assertThat(bucket.tryAcquire(3, 2, now)).isTrue();
+        assertThat(bucket.tryAcquire(3, 2, now)).isTrue();
+        assertThat(bucket.tryAcquire(3, 2, now)).isFalse();
+
+        // 2 permits/s: one token back after half a second, never more than the burst
+        assertThat(bucket.tryAcquire(3, 2, now + 500_000_000L)).isTrue();
+        assertThat(bucket.tryAcquire(3, 2, now + 500_000_000L)).isFalse();
+        long later = now + 60_000_000_000L;
+        for (int i = 0; i < 3; i++) assertThat(bucket.tryAcquire(3, 2, later)).isTrue();
+        assertThat(bucket.tryAcquire(3, 2, later)).isFalse();
+    }
+}
@@ -0,0 +1,120 @@
+package com.hamrochalchitraghar.system.service;
+
+import com.hamrochalchitraghar.system.dto.ScheduledShow;
+import com.hamrochalchitraghar.system.dto.ShowRequest;
+import com.hamrochalchitraghar.system.model.HallLayout;
+import com.hamrochalchitraghar.system.model.Movie;
+import com.hamrochalchitraghar.system.model.Seat;
+import com.hamrochalchitraghar.system.model.SeatZone;
+import com.hamrochalchitraghar.system.model.enums.SeatType;
+import com.hamrochalchitraghar.system.repository.SeatRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("h2")
+@Import(ShowSchedulingService.class)
+class ShowSchedulingServiceTests {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ShowSchedulingService showSchedulingService;
+
+    @Autowired
+    private SeatRepository seatRepository;
+
+    @Test
+    void scheduledShowsGetEveryLayoutSeatWithItsZone() {
+        Movie movie = Movie.builder().title("Kabaddi").duration(120).build();
+        entityManager.persist(movie);
+        showSchedulingService.saveLayout(1, HallLayout.builder().rowCount(15).seatsPerRow(20)
+                .zones(List.of(new SeatZone(14, 15, SeatType.VIP))).build());
+
+        List<ShowRequest> week = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            week.add(new ShowRequest(movie.getId(), 1, LocalDateTime.now().plusDays(day), 350.0));
+        }
+        List<ScheduledShow> shows = showSchedulingService.schedule(week);
+        entityManager.clear();
+
+        assertThat(shows).hasSize(7).allMatch(s -> s.movie().equals("Kabaddi"));
+        List<Seat> seats = seatRepository.findByShowId(shows.get(0).id());
+        assertThat(seats).hasSize(300).noneMatch(Seat::isBooked);
+        assertThat(seats).filteredOn(s -> s.getSeatType() == SeatType.VIP)
+                .extracting(Seat::getSeatNo).contains("N1", "O20").hasSize(40);
+        assertThat(seatRepository.count()).isEqualTo(7 * 300);
+    }
+
+    @Test
+    void hallWithoutLayoutIsRejected() {
+        Movie movie = Movie.builder().title("Kabaddi").duration(120).build();
+        entityManager.persist(movie);
+
+        assertThatThrownBy(() -> showSchedulingService.schedule(
+                List.of(new ShowRequest(movie.getId(), 9, LocalDateTime.now(), 300.0))))
+                .hasMessageContaining("hall 9");
+    }
+
+    @Test
+    void incompleteRequestsAreRejectedBeforeAnythingIsSaved() {
+        Movie movie = Movie.builder().title("Kabaddi").duration(120).build();
+        entityManager.persist(movie);
+        showSchedulingService.saveLayout(1, HallLayout.builder().rowCount(2).seatsPerRow(2).build());
+        LocalDateTime time = LocalDateTime.now().plusDays(1);
+        ShowRequest valid = new ShowRequest(movie.getId(), 1, time, 300.0);
+
+        assertThatThrownBy(() -> showSchedulingService.schedule(List.of(valid, new ShowRequest(movie.getId(), 1, time, null))))
+                .hasMessage("Show 2: price must be greater than zero.");
+        assertThatThrownBy(() -> showSchedulingService.schedule(List.of(new ShowRequest(movie.getId(), 1, time, -5.0))))
+                .hasMessage("Show 1: price must be greater than zero.");
+        assertThatThrownBy(() -> showSchedulingService.schedule(List.of(new ShowRequest(movie.getId(), 1, null, 300.0))))
+                .hasMessage("Show 1: showTime is required.");
+        assertThatThrownBy(() -> showSchedulingService.schedule(List.of(new ShowRequest(null, 1, time, 300.0))))
+                .hasMessage("Show 1: movieId is required.");
+        assertThatThrownBy(() -> showSchedulingService.schedule(List.of(new ShowRequest(movie.getId(), null, time, 300.0))))
+                .hasMessage("Show 1: hallNo is required.");
+        assertThatThrownBy(() -> showSchedulingService.schedule(List.of()))
+                .hasMessage("No shows to schedule.");
+        assertThat(seatRepository.count()).isZero();
+    }
+
+    @Test
+    void layoutsWithBadZonesAreRejected() {
+        assertThatThrownBy(() -> showSchedulingService.saveLayout(1, HallLayout.builder().rowCount(10).seatsPerRow(10)
+                .zones(List.of(new SeatZone(0, 2, SeatType.VIP))).build()))
+                .hasMessageContaining("within rows 1-10");
+        assertThatThrownBy(() -> showSchedulingService.saveLayout(1, HallLayout.builder().rowCount(10).seatsPerRow(10)
+                .zones(List.of(new SeatZone(9, 11, SeatType.VIP))).build()))
+                .hasMessageContaining("within rows 1-10");
+        assertThatThrownBy(() -> showSchedulingService.saveLayout(1, HallLayout.builder().rowCount(10).seatsPerRow(10)
+                .zones(List.of(new SeatZone(5, 4, SeatType.VIP))).build()))
+                .hasMessageContaining("within rows 1-10");
+        assertThatThrownBy(() -> showSchedulingService.saveLayout(1, HallLayout.builder().rowCount(10).seatsPerRow(10)
+                .zones(List.of(new SeatZone(8, 10, SeatType.VIP), new SeatZone(5, 8, SeatType.PREMIUM))).build()))
+                .hasMessage("Zone rows 5-8 and 8-10 overlap.");
+        assertThatThrownBy(() -> showSchedulingService.saveLayout(1, HallLayout.builder().rowCount(10).seatsPerRow(10)
+                .zones(List.of(new SeatZone(1, 2, null))).build()))
+                .hasMessage("Every zone needs a seat type.");
+        assertThat(showSchedulingService.getLayouts()).isEmpty();
+    }
+
+    @Test
+    void seatLabelsRollOverPastZ() {
+        assertThat(HallLayout.seatNo(1, 1)).isEqualTo("A1");
+        assertThat(HallLayout.seatNo(26, 4)).isEqualTo("Z4");
+        assertThat(HallLayout.seatNo(27, 2)).isEqualTo("AA2");
+    }
+}
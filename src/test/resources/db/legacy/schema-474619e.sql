@@ -0,0 +1,86 @@
+-- Schema created by ddl-auto=update before migrations existed (commit 474619e): the tables as
+-- dumped from MySQL, with the foreign keys added afterwards the way Hibernate adds them, so MySQL
+-- names and drops their implicit indexes as it did there. MigrationBaselineTests baselines it.
+
+CREATE TABLE `customers` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `active` bit(1) NOT NULL,
+  `created_at` datetime(6) DEFAULT NULL,
+  `email` varchar(255) NOT NULL,
+  `name` varchar(255) NOT NULL,
+  `password` varchar(255) NOT NULL,
+  `phone` varchar(15) DEFAULT NULL,
+  `role` enum('ADMIN','CUSTOMER','STAFF') DEFAULT NULL,
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `UKrfbvkrffamfql7cjmen8v976v` (`email`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `movies` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `duration` int(11) NOT NULL,
+  `genre` varchar(255) DEFAULT NULL,
+  `language` varchar(255) DEFAULT NULL,
+  `poster_url` varchar(255) DEFAULT NULL,
+  `status` enum('COMING_SOON','ENDED','NOW_SHOWING') DEFAULT NULL,
+  `title` varchar(255) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `shows` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `hall_no` int(11) NOT NULL,
+  `price` double NOT NULL,
+  `show_time` datetime(6) DEFAULT NULL,
+  `movie_id` bigint(20) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `seats` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `booked` bit(1) NOT NULL,
+  `locked_at` datetime(6) DEFAULT NULL,
+  `locked_by` varchar(255) DEFAULT NULL,
+  `seat_no` varchar(255) DEFAULT NULL,
+  `seat_type` enum('PREMIUM','REGULAR','VIP') DEFAULT NULL,
+  `show_id` bigint(20) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `bookings` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `booking_time` datetime(6) DEFAULT NULL,
+  `cancellation_reason` varchar(255) DEFAULT NULL,
+  `cancelled_at` datetime(6) DEFAULT NULL,
+  `cancelled_by` varchar(255) DEFAULT NULL,
+  `channel` enum('BOX_OFFICE','ONLINE') DEFAULT NULL,
+  `seat_no` varchar(255) DEFAULT NULL,
+  `status` enum('BOOKED','CANCELLED','PENDING') DEFAULT NULL,
+  `customer_id` bigint(20) DEFAULT NULL,
+  `show_id` bigint(20) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+CREATE TABLE `error_logs` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `message` varchar(255) DEFAULT NULL,
+  `source` varchar(255) DEFAULT NULL,
+  `stack_trace` varchar(255) DEFAULT NULL,
+  `timestamp` datetime(6) DEFAULT NULL,
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB;
+
+ALTER TABLE `shows` ADD CONSTRAINT `FKqdpwhiv5r3lx844pct0eudapk` FOREIGN KEY (`movie_id`) REFERENCES `movies` (`id`);
+ALTER TABLE `seats` ADD CONSTRAINT `FKi0mr20gpj1nedoufqq21a50es` FOREIGN KEY (`show_id`) REFERENCES `shows` (`id`);
+ALTER TABLE `bookings` ADD CONSTRAINT `FK5f9847fuaqx7qe2xug4e5pky1` FOREIGN KEY (`show_id`) REFERENCES `shows` (`id`);
+ALTER TABLE `bookings` ADD CONSTRAINT `FKbvfibgflhsb0g2hnjauiv5khs` FOREIGN KEY (`customer_id`) REFERENCES `customers` (`id`);
+
+-- Data the original code could leave behind: a hand-inserted duplicate seat and a booking
+-- that only knows its seats by label
+INSERT INTO movies (id, duration, title, status) VALUES (1, 120, 'Kabaddi', 'NOW_SHOWING');
+INSERT INTO shows (id, hall_no, price, show_time, movie_id) VALUES (1, 1, 300, NOW(), 1);
+INSERT INTO seats (id, booked, seat_no, seat_type, show_id) VALUES
+  (1, 1, 'A1', 'REGULAR', 1), (2, 0, 'A1', 'REGULAR', 1), (3, 0, 'A2', 'REGULAR', 1), (4, 1, 'A3', 'VIP', 1);
+INSERT INTO customers (id, active, email, name, password, role) VALUES (1, 1, 'ram@example.com', 'Ram', 'x', 'CUSTOMER');
+INSERT INTO bookings (id, booking_time, seat_no, status, channel, customer_id, show_id) VALUES
+  (1, NOW(), 'A1,A3', 'BOOKED', 'ONLINE', 1, 1);
+INSERT INTO error_logs (message, source, timestamp) VALUES ('Seat A1 is already booked.', 'BookingService', NOW());